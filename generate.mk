@@ -25,12 +25,19 @@ OPENAPI_DOCUMENT=api/openapi/openapi.yaml
 
 JAR_FILE=redfish-generator/target/redfish-codegen-0.3.1-SNAPSHOT.jar
 JVM_ARGS=-DmaxYamlCodePoints=6291456 -Dfile.encoding=UTF-8
+CACHE_DIRECTORY=.codegen-cache
+# Optionally, an interop profile (or list of resources) to restrict generation to
+INTEROP_PROFILE=
+PROFILE_ARGS=$(if $(INTEROP_PROFILE),-profile $(abspath $(INTEROP_PROFILE)))
 
 define redfish_codegen
 (cd $1 && java $(JVM_ARGS) -jar ../$(JAR_FILE) \
 	-specDirectory ../api \
 	-specVersion $(RELEASE_VERSION) \
 	-registryDirectory ../registry \
+	-cacheDirectory ../$(CACHE_DIRECTORY) \
+	$(PROFILE_ARGS) \
+	-writeIfChanged \
 	-component $2)
 endef
 
@@ -41,6 +48,21 @@ CODEGEN_DEPENDENCIES += $(JAR_FILE)
 models: redfish-codegen/src/lib.rs
 routing: redfish-axum/src/lib.rs
 
+# Generate both crates from a single invocation of the generator, which parses
+# the specification only once.
+components: $(CODEGEN_DEPENDENCIES)
+	java $(JVM_ARGS) -jar $(JAR_FILE) \
+		-specDirectory api \
+		-specVersion $(RELEASE_VERSION) \
+		-registryDirectory registry \
+		-cacheDirectory $(CACHE_DIRECTORY) \
+		$(PROFILE_ARGS) \
+		-writeIfChanged \
+		-component models=redfish-codegen \
+		-component routing=redfish-axum
+
+.PHONY: components
+
 redfish-codegen/src/lib.rs: $(CODEGEN_DEPENDENCIES)
 	$(call redfish_codegen,redfish-codegen,models)
 
@@ -2,14 +2,18 @@ use redfish_codegen::models::privileges::PrivilegeType;
 use std::marker::PhantomData;
 
 /// The privileges called out in the Redfish specification.
+///
+/// The discriminant of each privilege is its bit in a privilege mask (see [Privilege::mask]), so they're
+/// pinned, and must stay below 8. The privilege masks emitted by redfish-generator refer to these
+/// variants by name, so renaming or removing one also requires a change to its PrivilegeRegistry.
 #[derive(Clone, Copy, PartialEq, Eq, Hash, strum::EnumIter, strum::Display, strum::EnumString)]
 #[cfg_attr(feature = "serde", derive(serde::Serialize, serde::Deserialize))]
 pub enum Privilege {
-    Login,
-    ConfigureComponents,
-    ConfigureManager,
-    ConfigureSelf,
-    ConfigureUsers,
+    Login = 0,
+    ConfigureComponents = 1,
+    ConfigureManager = 2,
+    ConfigureSelf = 3,
+    ConfigureUsers = 4,
 }
 
 impl From<Privilege> for PrivilegeType {
@@ -24,6 +28,18 @@ impl From<Privilege> for PrivilegeType {
     }
 }
 
+impl Privilege {
+    /// The bit representing this privilege in a privilege mask (see [AnyOf]).
+    pub const fn mask(self) -> u8 {
+        1 << self as u8
+    }
+
+    /// The mask of all of the privileges in the slice.
+    pub fn mask_of(privileges: &[Privilege]) -> u8 {
+        privileges.iter().fold(0, |mask, privilege| mask | privilege.mask())
+    }
+}
+
 pub trait SatisfiesPrivilege {
     fn is_satisfied(privileges: &[Privilege]) -> bool;
 }
@@ -114,6 +130,32 @@ where
     }
 }
 
+/// A privilege expression in disjunctive normal form. Each non-zero byte of `TERMS` is the mask of the
+/// privileges in one term (see [Privilege::mask]), and the expression is satisfied if every privilege of
+/// at least one term is held. Checking it takes a few bitwise operations, and every operation requiring
+/// the same privileges shares the same type. For example, an operation requiring either Login, or both
+/// ConfigureManager and ConfigureUsers, is satisfied by:
+///
+/// ```
+/// use redfish_core::privilege::{AnyOf, Privilege, SatisfiesPrivilege};
+///
+/// type Required = AnyOf<{
+///     (Privilege::Login.mask() as u64)
+///         | (((Privilege::ConfigureManager.mask() | Privilege::ConfigureUsers.mask()) as u64) << 8)
+/// }>;
+/// assert!(Required::is_satisfied(&[Privilege::Login]));
+/// assert!(Required::is_satisfied(&[Privilege::ConfigureManager, Privilege::ConfigureUsers]));
+/// assert!(!Required::is_satisfied(&[Privilege::ConfigureManager]));
+/// ```
+#[derive(Clone, Default)]
+pub struct AnyOf<const TERMS: u64>;
+impl<const TERMS: u64> SatisfiesPrivilege for AnyOf<TERMS> {
+    fn is_satisfied(privileges: &[Privilege]) -> bool {
+        let held = Privilege::mask_of(privileges);
+        TERMS.to_le_bytes().iter().any(|&term| term != 0 && term & held == term)
+    }
+}
+
 /// The standard roles defined in the Redfish specification.
 #[derive(Clone, Copy, PartialEq, Eq, Hash, strum::EnumIter, strum::Display, strum::EnumString)]
 #[cfg_attr(feature = "serde", derive(serde::Serialize, serde::Deserialize))]
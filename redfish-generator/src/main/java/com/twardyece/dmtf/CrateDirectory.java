@@ -0,0 +1,150 @@
+package com.twardyece.dmtf;
+
+import com.twardyece.dmtf.output.IOutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The directory of a generated crate, whose files are written to an output sink. When writeIfChanged is set, a file
+ * whose contents would not change is not written, so that its modification time is preserved and cargo doesn't rebuild
+ * the crate, and source files left over from a previous run are removed once generation is complete.
+ * <p>
+ * In that mode, the crate also keeps a {@link GenerationManifest} of the files generated by the previous run. A file
+ * whose inputs are unchanged since then is not rendered at all.
+ */
+public class CrateDirectory implements Closeable {
+    private final IOutputSink sink;
+    private final boolean writeIfChanged;
+    private final Set<Path> generatedFiles = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final GenerationManifest manifest;
+    private final GenerationManifest previousManifest;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrateDirectory.class);
+
+    /**
+     * @param inputs fingerprint of the inputs shared by every file in the crate
+     */
+    public CrateDirectory(IOutputSink sink, boolean writeIfChanged, String inputs) {
+        this.sink = sink;
+        this.writeIfChanged = writeIfChanged;
+        this.manifest = GenerationManifest.create(inputs);
+        this.previousManifest = writeIfChanged ? GenerationManifest.load(sink).orElse(null) : null;
+        if (null != this.previousManifest && !this.previousManifest.isCompatibleWith(this.manifest)) {
+            LOGGER.info("The generator or its inputs have changed since " + sink + " was generated");
+        }
+    }
+
+    public IOutputSink getSink() { return this.sink; }
+
+    /**
+     * Check whether the file was generated by the previous run from the same inputs, and still exists. If so, it's
+     * considered generated by this run, too, and doesn't need to be rendered.
+     *
+     * @param inputs   fingerprint of the inputs of the file, or null if it must always be rendered
+     * @param template hash of the template the file is rendered from
+     */
+    public boolean isUpToDate(Path path, String inputs, String template) throws IOException {
+        if (null == inputs || null == this.previousManifest || !this.previousManifest.isCompatibleWith(this.manifest)) {
+            return false;
+        }
+
+        GenerationManifest.Entry entry = this.previousManifest.files().get(path.toString());
+        if (null == entry || !inputs.equals(entry.inputs()) || !template.equals(entry.template())
+                || this.sink.size(path) != entry.size()) {
+            return false;
+        }
+
+        this.generatedFiles.add(path.normalize());
+        this.manifest.files().put(path.toString(), entry);
+        this.skipped.incrementAndGet();
+        return true;
+    }
+
+    public void write(Path path, String contents, String inputs, String template) throws IOException {
+        this.generatedFiles.add(path.normalize());
+        // Files have always been written in the platform's default charset.
+        byte[] bytes = contents.getBytes(Charset.defaultCharset());
+        this.manifest.files().put(path.toString(), new GenerationManifest.Entry(inputs, template, bytes.length));
+        if (this.writeIfChanged && this.sink.size(path) == bytes.length) {
+            Optional<byte[]> existing = this.sink.read(path);
+            if (existing.isPresent() && Arrays.equals(existing.get(), bytes)) {
+                this.unchanged.incrementAndGet();
+                return;
+            }
+        }
+
+        this.sink.write(path, bytes);
+        this.written.incrementAndGet();
+    }
+
+    /**
+     * Remove the files recorded in the previous manifest, and the Rust source files in the source directory of the
+     * crate, that were not generated by this run, and any directories left empty. The source directory only contains
+     * generated files.
+     */
+    public void removeStaleFiles() throws IOException {
+        if (!this.writeIfChanged) {
+            return;
+        }
+
+        if (null != this.previousManifest) {
+            for (String path : this.previousManifest.files().keySet()) {
+                this.removeIfStale(Path.of(path));
+            }
+        }
+
+        for (Path path : this.sink.list(Path.of(RustConfig.CRATE_SOURCE_DIRECTORY.toString()))) {
+            if (path.toString().endsWith(RustConfig.FILE_EXTENSION)) {
+                this.removeIfStale(path);
+            }
+        }
+    }
+
+    private void removeIfStale(Path path) throws IOException {
+        if (!this.generatedFiles.contains(path.normalize()) && -1 != this.sink.size(path)) {
+            LOGGER.info("Removing stale file " + path);
+            this.sink.delete(path);
+            this.deleted.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record the files generated by this run, and their inputs, in the manifest of the crate.
+     */
+    public void saveManifest() throws IOException {
+        if (this.writeIfChanged) {
+            this.manifest.save(this.sink);
+        }
+    }
+
+    public String getSummary() {
+        return this.written.get() + " written, " + this.unchanged.get() + " unchanged, " + this.skipped.get()
+                + " up to date, " + this.deleted.get() + " deleted";
+    }
+
+    /**
+     * Complete the output of the crate, once every file has been generated. If the crate is closed without being
+     * completed, the sink keeps the output of the previous run where it can.
+     */
+    public void complete() throws IOException {
+        this.sink.complete();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.sink.close();
+    }
+}
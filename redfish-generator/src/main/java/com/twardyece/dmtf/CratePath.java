@@ -8,34 +8,46 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Paths are immutable. The rendered path is computed once, so comparing or hashing a path doesn't allocate. Paths that
+ * are parsed repeatedly should be obtained from of(), which returns one canonical instance per string, so those may be
+ * compared by reference.
+ */
 public class CratePath implements Comparable<CratePath> {
-    private ArrayList<SnakeCaseName> path;
+    private final List<SnakeCaseName> path;
+    private final String value;
+    private static final CratePath EMPTY = new CratePath(List.of());
+    private static final CratePath CRATE_ROOT = new CratePath(List.of(RustConfig.CRATE_ROOT_MODULE));
+    private static final Map<String, CratePath> INSTANCES = new ConcurrentHashMap<>();
+
+    private CratePath(List<SnakeCaseName> path) {
+        this.path = path;
+        this.value = String.join("::", this.path.stream().map((name) -> name.toString()).toList());
+    }
 
     public static CratePath crateLocal(Collection<SnakeCaseName> path) {
-        CratePath cratePath = CratePath.crateRoot();
-        cratePath.path.addAll(path);
-        return cratePath;
+        ArrayList<SnakeCaseName> components = new ArrayList<>(path.size() + 1);
+        components.add(RustConfig.CRATE_ROOT_MODULE);
+        components.addAll(path);
+        return new CratePath(Collections.unmodifiableList(components));
     }
 
     public static CratePath crateRoot() {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.add(RustConfig.CRATE_ROOT_MODULE);
-        return cratePath;
+        return CRATE_ROOT;
     }
 
     public static CratePath relative(Collection<SnakeCaseName> path) {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.addAll(path);
-        return cratePath;
+        return new CratePath(List.copyOf(path));
     }
 
     public static CratePath empty() {
-        CratePath cratePath = new CratePath();
-        cratePath.path = new ArrayList<>();
-        return cratePath;
+        return EMPTY;
     }
 
     public List<SnakeCaseName> getComponents() {
@@ -56,22 +68,22 @@ public class CratePath implements Comparable<CratePath> {
 
     @Override
     public String toString() {
-        return String.join("::", this.path.stream().map((name) -> name.toString()).collect(Collectors.toList()));
+        return this.value;
     }
 
     public String joinComponent(ICaseConvertible component) {
         if (this.path.size() > 0) {
-            return this + "::" + component.toString();
+            return this.value + "::" + component.toString();
         } else {
             return component.toString();
         }
     }
 
     public CratePath append(SnakeCaseName component) {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.addAll(this.path);
-        cratePath.path.add(component);
-        return cratePath;
+        ArrayList<SnakeCaseName> components = new ArrayList<>(this.path.size() + 1);
+        components.addAll(this.path);
+        components.add(component);
+        return new CratePath(Collections.unmodifiableList(components));
     }
 
     public Path toPath() {
@@ -91,20 +103,27 @@ public class CratePath implements Comparable<CratePath> {
     }
 
     public static CratePath parse(String value) {
-        CratePath path = CratePath.empty();
-        path.path.addAll(Arrays.stream(value.split("::")).map(SnakeCaseName::new).toList());
-        return path;
+        return new CratePath(Arrays.stream(value.split("::")).map(SnakeCaseName::of).toList());
+    }
+
+    /**
+     * Return the canonical path parsed from the string.
+     */
+    public static CratePath of(String value) {
+        return INSTANCES.computeIfAbsent(value, CratePath::parse);
     }
 
     @Override
     public int compareTo(CratePath o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof CratePath) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof CratePath) {
+            return this.value.equals(((CratePath) o).value);
         } else {
             return false;
         }
@@ -112,6 +131,6 @@ public class CratePath implements Comparable<CratePath> {
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.value.hashCode();
     }
 }
@@ -0,0 +1,72 @@
+package com.twardyece.dmtf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Renders module files and writes them to their crates. Files are independent of each other once their contexts are
+ * complete, so they're emitted on a bounded pool of threads, which may be shared by the crates generated concurrently.
+ * With a single thread, files are emitted in order on the calling thread.
+ */
+public class FileEmitter implements AutoCloseable {
+    private final ExecutorService executor;
+
+    public FileEmitter(int threads) {
+        this.executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+    }
+
+    /**
+     * Emit every file into the crate directory. If any files fail, the error of the first one to fail in the order of
+     * the list is thrown, after every other file has been emitted.
+     */
+    public void emit(List<? extends ModuleFile<?>> files, CrateDirectory crateDirectory) throws IOException {
+        if (null == this.executor) {
+            for (ModuleFile<?> file : files) {
+                file.generate(crateDirectory);
+            }
+            return;
+        }
+
+        List<Future<Void>> results = new ArrayList<>(files.size());
+        for (ModuleFile<?> file : files) {
+            results.add(this.executor.submit(() -> {
+                file.generate(crateDirectory);
+                return null;
+            }));
+        }
+
+        Throwable error = null;
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                if (null == error) {
+                    error = e.getCause();
+                }
+            }
+        }
+
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (null != error) {
+            throw new RuntimeException(error);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (null != this.executor) {
+            this.executor.shutdownNow();
+        }
+    }
+}
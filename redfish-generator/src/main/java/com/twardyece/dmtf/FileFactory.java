@@ -5,67 +5,108 @@ import com.github.mustachejava.MustacheFactory;
 import com.twardyece.dmtf.component.ComponentContext;
 import com.twardyece.dmtf.component.MetadataRoutingContext;
 import com.twardyece.dmtf.component.ODataContext;
+import com.twardyece.dmtf.component.RoutesContext;
+import com.twardyece.dmtf.model.SchemaKind;
 import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.model.context.ModelRenderer;
 import com.twardyece.dmtf.model.context.factory.IModelContextFactory;
 import com.twardyece.dmtf.registry.RegistryContext;
 import io.swagger.v3.oas.models.media.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 public class FileFactory {
-    private final Mustache modelTemplate;
-    private final Mustache moduleTemplate;
-    private final Mustache traitTemplate;
-    private final Mustache libTemplate;
-    private final Mustache registryTemplate;
-    private final Mustache metadataTemplate;
-    private final Mustache odataTemplate;
-    private final IModelContextFactory[] contextFactories;
+    // Models are rendered by ModelRenderer instead of a template, so the manifest records the hash of its class file.
+    private final String modelRendererHash;
+    private final Template moduleTemplate;
+    private final Template traitTemplate;
+    private final Template libTemplate;
+    private final Template registryTemplate;
+    private final Template metadataTemplate;
+    private final Template odataTemplate;
+    private final Template routesTemplate;
+    private final Map<SchemaKind, IModelContextFactory> contextFactories;
     private static final Logger LOGGER = LoggerFactory.getLogger(FileFactory.class);
 
-    public FileFactory(MustacheFactory factory, IModelContextFactory[] contextFactories) {
-        this.modelTemplate = factory.compile("templates/model.mustache");
-        this.moduleTemplate = factory.compile("templates/module.mustache");
-        this.traitTemplate = factory.compile("templates/component.mustache");
-        this.libTemplate = factory.compile("templates/lib.mustache");
-        this.registryTemplate = factory.compile("templates/registry.mustache");
-        this.metadataTemplate = factory.compile("templates/metadata.mustache");
-        this.odataTemplate = factory.compile("templates/odata.mustache");
-        this.contextFactories = contextFactories;
+    // A compiled template, and the hash of its source, which is recorded in the manifest of the crate.
+    private record Template(Mustache mustache, String hash) {}
+
+    public FileFactory(MustacheFactory factory, Map<SchemaKind, IModelContextFactory> contextFactories) {
+        this.modelRendererHash = hash(ModelRenderer.class.getName().replace('.', '/') + ".class");
+        this.moduleTemplate = compile(factory, "templates/module.mustache");
+        this.traitTemplate = compile(factory, "templates/component.mustache");
+        this.libTemplate = compile(factory, "templates/lib.mustache");
+        this.registryTemplate = compile(factory, "templates/registry.mustache");
+        this.metadataTemplate = compile(factory, "templates/metadata.mustache");
+        this.odataTemplate = compile(factory, "templates/odata.mustache");
+        this.routesTemplate = compile(factory, "templates/routes.mustache");
+        this.contextFactories = new EnumMap<>(contextFactories);
+    }
+
+    private static Template compile(MustacheFactory factory, String name) {
+        return new Template(factory.compile(name), hash(name));
     }
 
-    public ModuleFile<ModelContext> makeModelFile(RustType rustType, Schema schema) {
-        for (IModelContextFactory factory : this.contextFactories) {
-            ModelContext modelContext = factory.makeModelContext(rustType, schema);
-            if (null != modelContext) {
-                return new ModuleFile<>(modelContext.moduleContext.path, modelContext, this.modelTemplate);
+    private static String hash(String name) {
+        try (InputStream input = FileFactory.class.getClassLoader().getResourceAsStream(name)) {
+            if (null == input) {
+                throw new RuntimeException("Could not locate resource " + name);
             }
+            return GenerationManifest.fingerprint(List.of(new String(input.readAllBytes(), StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public ModuleFile<ModelContext> makeModelFile(RustType rustType, Schema schema, SchemaKind kind) {
+        IModelContextFactory factory = this.contextFactories.get(kind);
+        ModelContext modelContext = null != factory ? factory.makeModelContext(rustType, schema) : null;
+        if (null == modelContext) {
+            LOGGER.error("No ModelContextFactory matching Rust type " + rustType);
+            return null;
         }
-        LOGGER.error("No ModelContextFactory matching Rust type " + rustType);
-        return null;
+
+        return new ModuleFile<>(modelContext.moduleContext.path, modelContext, ModelRenderer::render,
+                this.modelRendererHash);
     }
 
     public ModuleFile<ModuleContext> makeModuleFile(ModuleContext context) {
-        return new ModuleFile<>(context.path, context, this.moduleTemplate);
+        return makeFile(context.path, context, this.moduleTemplate);
     }
 
     public ModuleFile<ComponentContext> makeTraitFile(ComponentContext trait) {
-        return new ModuleFile<>(trait.moduleContext.path, trait, this.traitTemplate);
+        return makeFile(trait.moduleContext.path, trait, this.traitTemplate);
     }
 
     public ModuleFile<LibContext> makeLibFile(LibContext context) {
-        return new ModuleFile<>(context.moduleContext.path, context, this.libTemplate);
+        return makeFile(context.moduleContext.path, context, this.libTemplate);
     }
 
     public ModuleFile<RegistryContext> makeRegistryFile(RegistryContext context) {
-        return new ModuleFile<>(context.moduleContext.path, context, this.registryTemplate);
+        return makeFile(context.moduleContext.path, context, this.registryTemplate);
     }
 
     public ModuleFile<MetadataRoutingContext> makeMetadataRoutingFile(MetadataRoutingContext context) {
-        return new ModuleFile<>(context.module().path, context, this.metadataTemplate);
+        return makeFile(context.module().path, context, this.metadataTemplate);
     }
 
     public ModuleFile<ODataContext> makeODataRoutingFile(ODataContext odataContext) {
-        return new ModuleFile<>(odataContext.module().path, odataContext, this.odataTemplate);
+        return makeFile(odataContext.module().path, odataContext, this.odataTemplate);
+    }
+
+    public ModuleFile<RoutesContext> makeRoutesFile(RoutesContext routesContext) {
+        return makeFile(routesContext.module().path, routesContext, this.routesTemplate);
+    }
+
+    private static <T> ModuleFile<T> makeFile(CratePath path, T context, Template template) {
+        return new ModuleFile<>(path, context, (writer, value) -> template.mustache().execute(writer, value),
+                template.hash());
     }
 }
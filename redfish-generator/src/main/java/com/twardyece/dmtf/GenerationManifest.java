@@ -0,0 +1,83 @@
+package com.twardyece.dmtf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.twardyece.dmtf.openapi.DocumentSnapshot;
+import com.twardyece.dmtf.output.IOutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The manifest of a generated crate, which records the generator version and the inputs that each file was generated
+ * from. The inputs of a file are its own fingerprint (e.g. of the schema of a model) and the hash of its template, and
+ * the inputs shared by every file in the crate (e.g. the names of all the schemas, which determine how references are
+ * resolved). A file whose inputs match those recorded in the manifest doesn't need to be rendered again.
+ */
+public record GenerationManifest(String generatorVersion, String inputs, Map<String, Entry> files) {
+    public static final String FILE_NAME = ".codegen-manifest.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public record Entry(String inputs, String template, long size) {}
+
+    public static GenerationManifest create(String inputs) {
+        return new GenerationManifest(DocumentSnapshot.getGeneratorVersion(), inputs, new ConcurrentHashMap<>());
+    }
+
+    public static Optional<GenerationManifest> load(IOutputSink sink) {
+        try {
+            Optional<byte[]> contents = sink.read(Path.of(FILE_NAME));
+            if (contents.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(MAPPER.readValue(contents.get(), GenerationManifest.class));
+        } catch (IOException e) {
+            // An unreadable manifest is ignored, and every file is generated again.
+            LOGGER.warn("Ignoring unreadable manifest in " + sink + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(IOutputSink sink) throws IOException {
+        sink.write(Path.of(FILE_NAME), MAPPER.writeValueAsBytes(
+                new GenerationManifest(this.generatorVersion, this.inputs, new TreeMap<>(this.files))));
+    }
+
+    // Whether files recorded in this manifest were generated from the same shared inputs as those of the other.
+    public boolean isCompatibleWith(GenerationManifest other) {
+        return this.generatorVersion.equals(other.generatorVersion) && this.inputs.equals(other.inputs);
+    }
+
+    /**
+     * Compute the fingerprint of a list of values, e.g. the inputs of a generated file.
+     */
+    public static String fingerprint(Iterable<String> values) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+
+        for (String value : values) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        for (byte value : digest.digest()) {
+            fingerprint.append(String.format("%02x", value));
+        }
+        return fingerprint.toString();
+    }
+}
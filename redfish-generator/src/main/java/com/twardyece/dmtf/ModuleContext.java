@@ -32,15 +32,29 @@ public class ModuleContext {
         if (!rustType.isPrimitive() && rustType.getPath().isCrateLocal()) {
             List<SnakeCaseName> components = rustType.getPath().getComponents();
             if (components.size() > 1) {
-                List<SnakeCaseName> front = components.subList(0, 2);
-                List<SnakeCaseName> back = components.subList(1, components.size());
-                CratePath importPath = CratePath.relative(front);
-                imports.add(new Import(importPath));
-                rustType.setImportPath(CratePath.relative(back));
+                imports.add(new Import(CratePath.relative(components.subList(0, 2))));
             }
         }
     }
 
+    // The path of a type, relative to the imports of this module. Crate-local types are named from the top-level module
+    // that contains them, which is imported by addImports.
+    private static CratePath getImportPath(RustType rustType) {
+        List<SnakeCaseName> components = rustType.getPath().getComponents();
+        if (rustType.getPath().isCrateLocal() && components.size() > 1) {
+            return CratePath.relative(components.subList(1, components.size()));
+        }
+        return rustType.getPath();
+    }
+
+    /**
+     * Get the name of one of the dependent types of this module, as it must be written within the module. Types are
+     * shared between modules, so the name depends on the module it's used in.
+     */
+    public String getImportedName(RustType rustType) {
+        return rustType.render(ModuleContext::getImportPath);
+    }
+
     public List<Submodule> submodules() { return this.submoduleSet.stream().sorted().collect(Collectors.toList()); }
 
     // Namespace elements from "named" submodules are not re-exported in the parent submodule, so their names must
@@ -1,36 +1,44 @@
 package com.twardyece.dmtf;
 
-import com.github.mustachejava.Mustache;
-
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.file.Path;
 
 public class ModuleFile<T> {
     CratePath path;
     private T context;
-    private Mustache template;
+    private final Renderer<T> renderer;
+    private final String templateHash;
+    private String inputs;
+
+    // Renders the contents of a file from its context, usually with a mustache template.
+    public interface Renderer<T> {
+        void render(Writer writer, T context) throws IOException;
+    }
 
-    public ModuleFile(CratePath path, T context, Mustache template) {
+    public ModuleFile(CratePath path, T context, Renderer<T> renderer, String templateHash) {
         this.path = path;
         this.context = context;
-        this.template = template;
+        this.renderer = renderer;
+        this.templateHash = templateHash;
     }
 
     public T getContext() { return this.context; }
 
-    public void generate() throws IOException {
-        File moduleFile = this.path.toPath().toFile();
-        File parent = moduleFile.getParentFile();
-        if (!parent.exists()) {
-            parent.mkdirs();
+    // A fingerprint of everything the file is generated from, other than its template and the inputs shared by every
+    // file in the crate. Files without one are always rendered.
+    public void setInputs(String inputs) { this.inputs = inputs; }
+
+    public void generate(CrateDirectory crateDirectory) throws IOException {
+        Path file = this.path.toPath();
+        if (crateDirectory.isUpToDate(file, this.inputs, this.templateHash)) {
+            return;
         }
-        moduleFile.createNewFile();
 
-        // Render the template
-        Writer writer = new PrintWriter(moduleFile);
-        this.template.execute(writer, this.context);
-        writer.flush();
+        // Render the template into memory, so that the crate directory can compare it with the existing file.
+        StringWriter writer = new StringWriter();
+        this.renderer.render(writer, this.context);
+        crateDirectory.write(file, writer.toString(), this.inputs, this.templateHash);
     }
 }
@@ -1,5 +1,6 @@
 package com.twardyece.dmtf;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.twardyece.dmtf.component.*;
 import com.twardyece.dmtf.component.match.ActionComponentMatcher;
@@ -7,6 +8,7 @@ import com.twardyece.dmtf.component.match.IComponentMatcher;
 import com.twardyece.dmtf.component.match.StandardComponentMatcher;
 import com.twardyece.dmtf.specification.*;
 import com.twardyece.dmtf.model.ModelResolver;
+import com.twardyece.dmtf.model.SchemaKind;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.factory.*;
 import com.twardyece.dmtf.model.mapper.IModelFileMapper;
@@ -14,7 +16,13 @@ import com.twardyece.dmtf.model.mapper.SimpleModelMapper;
 import com.twardyece.dmtf.model.mapper.UnversionedModelMapper;
 import com.twardyece.dmtf.model.mapper.VersionedModelMapper;
 import com.twardyece.dmtf.openapi.DocumentParser;
+import com.twardyece.dmtf.openapi.DocumentSnapshot;
+import com.twardyece.dmtf.output.ArchiveSink;
+import com.twardyece.dmtf.output.FileSystemSink;
+import com.twardyece.dmtf.output.IOutputSink;
+import com.twardyece.dmtf.output.MemorySink;
 import com.twardyece.dmtf.policies.IModelGenerationPolicy;
+import com.twardyece.dmtf.policies.ModelGenerationPipeline;
 import com.twardyece.dmtf.policies.ModelMetadataPolicy;
 import com.twardyece.dmtf.policies.ODataPropertyPolicy;
 import com.twardyece.dmtf.policies.PropertyDefaultValueOverridePolicy;
@@ -24,6 +32,7 @@ import com.twardyece.dmtf.registry.RegistryFileDiscovery;
 import com.twardyece.dmtf.text.CaseConversion;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.Schema;
@@ -32,9 +41,7 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -44,9 +51,14 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Redfish Code Generator for the Rust language
@@ -56,34 +68,66 @@ public class RedfishCodegen {
     private final String specVersion;
     private final String specDirectory;
     private final ModelResolver modelResolver;
-    private final ComponentMatchService componentMatchService;
-    private final IModelGenerationPolicy[] modelGenerationPolicies;
+    private ComponentMatchService componentMatchService;
+    private final ModelGenerationPipeline modelGenerationPipeline;
     private final OpenAPI document;
     private final FileFactory fileFactory;
     private final RegistryFileDiscovery registryFileDiscovery;
+    private final InteropProfile profile;
+    private final SchemaIdentifierIndex schemaIdentifierIndex;
+    // Fingerprint of the inputs shared by every generated file
+    private final String inputs;
+    private final boolean flatRoutes;
+    private final Path cacheDirectory;
     static final Logger LOGGER = LoggerFactory.getLogger(RedfishCodegen.class);
-
-    RedfishCodegen(String specDirectory, String specVersion, String registryDirectory) throws IOException {
+    private static final List<String> COMPONENTS = List.of("models", "routing");
+    private static final String HEALTH_MODEL = "Resource_Health";
+    // Models that redfish-core and seuss import from redfish_codegen::models, which must be generated even when an
+    // interop profile doesn't require them. This list must be kept up to date with those imports.
+    private static final List<String> REQUIRED_MODELS = List.of(
+            HEALTH_MODEL,
+            "AccountService_v1_13_0_AccountService",
+            "Message_v1_1_2_Message",
+            "odata-v4_count",
+            "odata-v4_id",
+            "odata-v4_IdRef",
+            "Privileges_PrivilegeType",
+            "RedfishError",
+            "RedfishRedfishError",
+            "Resource_Description",
+            "Resource_Id",
+            "Resource_Name",
+            "Role_v1_3_1_Role",
+            "RoleCollection_RoleCollection",
+            "Session_v1_6_0_Session",
+            "SessionCollection_SessionCollection",
+            "SessionService_v1_1_8_SessionService");
+
+    RedfishCodegen(String specDirectory, String specVersion, String registryDirectory, String cacheDirectory,
+                   int parserThreads, InteropProfile profile, boolean privilegeMasks, boolean flatRoutes) throws IOException {
         this.specDirectory = specDirectory;
         this.specVersion = specVersion;
+        this.flatRoutes = flatRoutes;
+        this.cacheDirectory = null != cacheDirectory ? Path.of(cacheDirectory) : null;
 
         SimpleModelIdentifierFactory redfishModelIdentifierFactory = new SimpleModelIdentifierFactory(Pattern.compile("Redfish(?<model>[a-zA-Z0-9]*)"), "model");
         SimpleModelIdentifierFactory odataModelIdentifierFactory = new SimpleModelIdentifierFactory(Pattern.compile("odata-v4_(?<model>[a-zA-Z0-9]*)"), "model");
 
-        // Model generation setup
+        // Model generation setup. The index is populated with the names of the schemas once the document is parsed.
+        this.schemaIdentifierIndex = new SchemaIdentifierIndex();
         IModelFileMapper[] modelMappers = new IModelFileMapper[4];
-        modelMappers[0] = new VersionedModelMapper();
+        modelMappers[0] = new VersionedModelMapper(this.schemaIdentifierIndex);
         modelMappers[1] = new SimpleModelMapper(redfishModelIdentifierFactory, new SnakeCaseName("redfish"));
         modelMappers[2] = new SimpleModelMapper(odataModelIdentifierFactory, new SnakeCaseName("odata_v4"));
-        modelMappers[3] = new UnversionedModelMapper();
+        modelMappers[3] = new UnversionedModelMapper(this.schemaIdentifierIndex);
 
         this.modelResolver = new ModelResolver(modelMappers);
-        IModelContextFactory[] factories = new IModelContextFactory[5];
-        factories[0] = new EnumContextFactory();
-        factories[1] = new FreeFormObjectContextFactory();
-        factories[2] = new StructContextFactory(this.modelResolver);
-        factories[3] = new TupleContextFactory(this.modelResolver);
-        factories[4] = new UnionContextFactory(this.modelResolver, new UnionVariantParser());
+        Map<SchemaKind, IModelContextFactory> factories = new EnumMap<>(SchemaKind.class);
+        factories.put(SchemaKind.ENUM, new EnumContextFactory());
+        factories.put(SchemaKind.FREE_FORM_OBJECT, new FreeFormObjectContextFactory());
+        factories.put(SchemaKind.STRUCT, new StructContextFactory(this.modelResolver));
+        factories.put(SchemaKind.TUPLE, new TupleContextFactory(this.modelResolver));
+        factories.put(SchemaKind.UNION, new UnionContextFactory(this.modelResolver, new UnionVariantParser(this.schemaIdentifierIndex)));
         this.fileFactory = new FileFactory(new DefaultMustacheFactory(), factories);
 
         DocumentParser parser = new DocumentParser(specDirectory + "/openapi/openapi.yaml");
@@ -94,14 +138,15 @@ public class RedfishCodegen {
         parser.addInlineSchemaNameMapping("RedfishError_error", "RedfishRedfishError");
         parser.addInlineSchemaNameMapping("_redfish_v1_odata_get_200_response", "odata-v4_ServiceDocument");
         parser.addInlineSchemaNameMapping("_redfish_v1_odata_get_200_response_value_inner", "odata-v4_Service");
+        parser.parallelism = parserThreads;
 
         // These intrusive/low-level policies need to be applied to the set of models as a whole, but should not be
-        // coupled to context factories.
-        this.modelGenerationPolicies = new IModelGenerationPolicy[3];
-        this.modelGenerationPolicies[0] = new ODataPropertyPolicy(new ODataTypeIdentifier());
+        // coupled to context factories. The per-model policies come first, so that they're applied in one traversal.
+        IModelGenerationPolicy[] modelGenerationPolicies = new IModelGenerationPolicy[3];
+        modelGenerationPolicies[0] = new ODataPropertyPolicy(new ODataTypeIdentifier(this.schemaIdentifierIndex));
         Map<Pair<String, String>, String> overrides = new HashMap<>();
         overrides.put(new ImmutablePair<>("odata-v4_Service", "kind"), "\\\"Singleton\\\".to_string()");
-        this.modelGenerationPolicies[1] = new PropertyDefaultValueOverridePolicy(overrides);
+        modelGenerationPolicies[2] = new PropertyDefaultValueOverridePolicy(overrides);
         JsonSchemaMapper[] jsonSchemaMappers = new JsonSchemaMapper[2];
 
         Pattern versionParsePattern = Pattern.compile("([0-9]+)_([0-9]+)_([0-9]+)");
@@ -123,7 +168,8 @@ public class RedfishCodegen {
         jsonSchemaMappers[1] = new JsonSchemaMapper(
                 odataModelIdentifierFactory,
                 odataJsonSchema.get().file.getFileName().toString());
-        this.modelGenerationPolicies[2] = new ModelMetadataPolicy(new JsonSchemaIdentifier(jsonSchemaMappers));
+        modelGenerationPolicies[1] = new ModelMetadataPolicy(new JsonSchemaIdentifier(jsonSchemaMappers, this.schemaIdentifierIndex));
+        this.modelGenerationPipeline = new ModelGenerationPipeline(modelGenerationPolicies);
 
         // Registry generation
         Path registryDirectoryPath = Path.of(registryDirectory);
@@ -134,7 +180,44 @@ public class RedfishCodegen {
                         .getRegistry("PrivilegeMapping", Pattern.compile("Redfish_(?<version>[0-9.]+)_PrivilegeRegistry.json"))
                         .get()
                         .file,
-                CratePath.parse("redfish_core::privilege"));
+                CratePath.parse("redfish_core::privilege"),
+                privilegeMasks);
+        this.setPrivilegeRegistry(privilegeRegistry);
+
+        if (null != cacheDirectory) {
+            this.document = parser.parse(new DocumentSnapshot(Path.of(specDirectory), Path.of(cacheDirectory)));
+        } else {
+            this.document = parser.parse();
+        }
+
+        this.schemaIdentifierIndex.addAll(this.document.getComponents().getSchemas().keySet());
+
+        this.profile = profile;
+        if (null != this.profile) {
+            List<String> requiredModels = new ArrayList<>(REQUIRED_MODELS);
+            requiredModels.add(this.getMessageModelName());
+            // The crates import these exact versions, so a missing model can't be replaced with another version of it.
+            List<String> missingModels = requiredModels.stream()
+                    .filter((name) -> !this.document.getComponents().getSchemas().containsKey(name))
+                    .toList();
+            if (!missingModels.isEmpty()) {
+                LOGGER.warn("models required by redfish-core and seuss are missing from the specification: "
+                        + String.join(", ", missingModels));
+            }
+            this.profile.apply(this.document, requiredModels);
+        }
+
+        // References between models are resolved by name, so every model depends on the names of all the schemas.
+        List<String> inputs = new ArrayList<>();
+        inputs.add(specVersion);
+        inputs.add(redfishErrorJsonSchema.get().file.getFileName().toString());
+        inputs.add(odataJsonSchema.get().file.getFileName().toString());
+        inputs.addAll(new TreeSet<>(this.document.getComponents().getSchemas().keySet()));
+        this.inputs = GenerationManifest.fingerprint(inputs);
+    }
+
+    // Replace the privilege registry that components are matched with, e.g. to compare implementations of it
+    void setPrivilegeRegistry(IPrivilegeRegistry privilegeRegistry) {
         IComponentMatcher[] componentMatchers = new IComponentMatcher[2];
         List<Pair<PathItem.HttpMethod, String>> unprotectedOperations = new ArrayList<>();
         unprotectedOperations.add(new ImmutablePair<>(PathItem.HttpMethod.GET, "/redfish/v1"));
@@ -145,56 +228,99 @@ public class RedfishCodegen {
                 unprotectedOperations);
         componentMatchers[1] = new ActionComponentMatcher();
         this.componentMatchService = new ComponentMatchService(componentMatchers, new PathService());
-
-        this.document = parser.parse();
     }
 
-    private Map<String, ModuleFile<ModelContext>> buildModels() {
-        // Translate each schema into a ModuleFile with associated model context
-        Map<String, ModuleFile<ModelContext>> models = new HashMap<>();
-        for (Map.Entry<String, Schema> schema : this.document.getComponents().getSchemas().entrySet()) {
+    Map<String, ModuleFile<ModelContext>> buildModels() {
+        // Translate each schema into a ModuleFile with associated model context. Each schema is translated
+        // independently, so this is done in parallel. The results are collected by schema index, and then copied into
+        // the model map in document order, so neither the map nor the log depend on the order the tasks finish in.
+        long start = System.nanoTime();
+        List<Map.Entry<String, Schema>> schemas = new ArrayList<>(this.document.getComponents().getSchemas().entrySet());
+
+        // Classify every schema first, so that each one is dispatched straight to the factory for its kind.
+        SchemaKind[] kinds = new SchemaKind[schemas.size()];
+        Map<SchemaKind, Integer> kindCounts = new EnumMap<>(SchemaKind.class);
+        for (int i = 0; i < schemas.size(); ++i) {
+            kinds[i] = SchemaKind.classify(schemas.get(i).getValue());
+            kindCounts.merge(kinds[i], 1, Integer::sum);
+        }
+        LOGGER.info("Schemas by kind: " + kindCounts);
+
+        Map<Integer, ModuleFile<ModelContext>> modelFiles = new ConcurrentHashMap<>();
+        Set<Integer> unmatched = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, schemas.size()).parallel().forEach((i) -> {
+            Map.Entry<String, Schema> schema = schemas.get(i);
             RustType result = this.modelResolver.resolvePath(schema.getKey());
             if (null == result) {
-                LOGGER.warn("no match for model " + schema.getValue().getName());
-                continue;
+                unmatched.add(i);
+                return;
             }
 
-            ModuleFile<ModelContext> modelFile = this.fileFactory.makeModelFile(result, schema.getValue());
+            ModuleFile<ModelContext> modelFile = this.fileFactory.makeModelFile(result, schema.getValue(), kinds[i]);
             if (null != modelFile) {
+                modelFile.setInputs(getSchemaInputs(schema.getKey(), schema.getValue()));
+                modelFiles.put(i, modelFile);
+            }
+        });
+
+        Map<String, ModuleFile<ModelContext>> models = new LinkedHashMap<>();
+        for (int i = 0; i < schemas.size(); ++i) {
+            Map.Entry<String, Schema> schema = schemas.get(i);
+            ModuleFile<ModelContext> modelFile = modelFiles.get(i);
+            if (unmatched.contains(i)) {
+                LOGGER.warn("no match for model " + schema.getValue().getName());
+            } else if (null != modelFile) {
                 models.put(schema.getKey(), modelFile);
             }
         }
+        LOGGER.info("Built " + models.size() + " models in " + (System.nanoTime() - start) / 1000000 + "ms");
 
         // Apply model generation policies
-        for (IModelGenerationPolicy policy : this.modelGenerationPolicies) {
-            policy.apply(models);
-        }
+        this.modelGenerationPipeline.apply(models);
 
         return models;
     }
 
-    private void generateModels(Map<String, ModuleFile<ModelContext>> models) throws IOException {
+    private static String getSchemaInputs(String name, Schema schema) {
+        try {
+            return GenerationManifest.fingerprint(List.of(name, Json.mapper().writeValueAsString(schema)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // An intermediate module only declares its submodules.
+    private static String getModuleInputs(ModuleContext module) {
+        List<String> inputs = new ArrayList<>();
+        for (ModuleContext.Submodule submodule : module.submodules()) {
+            inputs.add(submodule.name() + ":" + submodule.isUsed + ":" + submodule.feature);
+        }
+        return GenerationManifest.fingerprint(inputs);
+    }
+
+    private void generateModels(Map<String, ModuleFile<ModelContext>> models, List<ModuleFile<?>> files) {
         // Generate all the models
         Map<String, ModuleContext> intermediateModules = new HashMap<>();
         for (ModuleFile<ModelContext> modelFile : models.values()) {
             modelFile.getContext().moduleContext.registerModule(intermediateModules);
-            modelFile.generate();
+            files.add(modelFile);
         }
 
         // Generate intermediate modules
         for (ModuleContext module : intermediateModules.values()) {
             ModuleFile<ModuleContext> file = this.fileFactory.makeModuleFile(module);
-            file.generate();
+            file.setInputs(getModuleInputs(module));
+            files.add(file);
         }
     }
 
-    public void generateModelsLib() throws IOException {
+    public void generateModelsLib(List<ModuleFile<?>> files) throws IOException {
         ModuleContext module = new ModuleContext(CratePath.crateRoot(), null);
         LibContext context = new LibContext(module, specVersion, getResourceFileAsString("codegen.rs"));
         ModuleFile<LibContext> file = this.fileFactory.makeLibFile(context);
         file.getContext().moduleContext.addNamedSubmodule(RustConfig.MODELS_BASE_MODULE);
         file.getContext().moduleContext.addNamedSubmodule(RustConfig.REGISTRY_BASE_MODULE);
-        file.generate();
+        files.add(file);
     }
 
     /**
@@ -215,20 +341,22 @@ public class RedfishCodegen {
         }
     }
 
-    private void generateRouting(Map<PascalCaseName, RegistryContext> registries) throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
+    private void generateRouting(Map<PascalCaseName, RegistryContext> registries, List<ModuleFile<?>> files) throws IOException, URISyntaxException {
         ModuleContext moduleContext = new ModuleContext(CratePath.crateRoot(), null);
         LibContext libContext = new LibContext(moduleContext, this.specVersion);
         ModuleFile<LibContext> libFile = this.fileFactory.makeLibFile(libContext);
-        Map<String, PathItem> paths = this.document.getPaths();
+        // Components may be generated concurrently from the same document, so this method must not modify it.
+        Map<String, PathItem> paths = new LinkedHashMap<>(this.document.getPaths());
 
         // Metadata router, a submodule of the routing module that handles the OData metadata document.
-        MetadataFileDiscovery fileDiscovery = new MetadataFileDiscovery(Path.of(this.specDirectory + "/csdl"));
+        MetadataFileDiscovery fileDiscovery = new MetadataFileDiscovery(Path.of(this.specDirectory + "/csdl"),
+                this.cacheDirectory);
         SnakeCaseName metadata = new SnakeCaseName("metadata");
         CratePath metadataPath = CratePath.parse("crate::" + metadata);
         MetadataRoutingContext metadataContext = new MetadataRoutingContext(new ModuleContext(metadataPath, null),
         fileDiscovery.getServiceRootVersion(), fileDiscovery.getReferences());
         ModuleFile<MetadataRoutingContext> metadataFile = this.fileFactory.makeMetadataRoutingFile(metadataContext);
-        metadataFile.generate();
+        files.add(metadataFile);
         libFile.getContext().moduleContext.addNamedSubmodule(metadata);
         paths.remove("/redfish/v1/$metadata");
 
@@ -237,35 +365,53 @@ public class RedfishCodegen {
         CratePath odataPath = CratePath.parse("crate::" + odata);
         ODataContext odataContext = new ODataContext(new ModuleContext(odataPath, null));
         ModuleFile<ODataContext> odataFile = this.fileFactory.makeODataRoutingFile(odataContext);
-        odataFile.generate();
+        files.add(odataFile);
         libFile.getContext().moduleContext.addNamedSubmodule(odata);
         paths.remove("/redfish/v1/odata");
 
         // The rest of the components
         RegistryContext baseRegistry = registries.get(new PascalCaseName("Base"));
-        baseRegistry.rustType.getPath().getComponents().set(0, new SnakeCaseName("redfish_codegen"));
+        List<SnakeCaseName> baseRegistryPath = new ArrayList<>(baseRegistry.rustType.getPath().getComponents());
+        baseRegistryPath.set(0, new SnakeCaseName("redfish_codegen"));
+        RustType baseRegistryType = new RustType(CratePath.relative(baseRegistryPath),
+                new PascalCaseName(baseRegistry.rustType.getName()));
         int pathDepth = libFile.getContext().moduleContext.path.getComponents().size();
         ComponentRepository componentRepository = new ComponentRepository(
                 new ComponentTypeTranslationService(this.modelResolver),
                 new PathService(),
-                baseRegistry.rustType);
+                baseRegistryType);
         Iterator<ComponentContext> iterator = this.componentMatchService.getComponents(paths, componentRepository);
+        List<ComponentContext> components = new ArrayList<>();
         while (iterator.hasNext()) {
             ComponentContext component = iterator.next();
             if (component.moduleContext.path.getComponents().size() == pathDepth + 1) {
                 libFile.getContext().moduleContext.addNamedSubmodule(component.moduleContext.path.getLastComponent());
             }
+            component.flatRoutes = this.flatRoutes;
             ModuleFile<ComponentContext> traitFile = this.fileFactory.makeTraitFile(component);
-            traitFile.generate();
+            files.add(traitFile);
+            components.add(component);
         }
 
-        libFile.generate();
+        // Route table, which lists the paths that the components are registered at when routes are flat
+        if (this.flatRoutes) {
+            SnakeCaseName routes = new SnakeCaseName("routes");
+            RoutesContext routesContext = RoutesContext.create(
+                    new ModuleContext(CratePath.parse("crate::" + routes), null), components);
+            files.add(this.fileFactory.makeRoutesFile(routesContext));
+            libFile.getContext().moduleContext.addNamedSubmodule(routes);
+        }
+
+        files.add(libFile);
     }
 
     private Map<PascalCaseName, RegistryContext> buildRegistries(RegistryFactory factory) throws IOException {
         CratePath registryModulePath = CratePath.parse("crate::" + RustConfig.REGISTRY_BASE_MODULE);
         Map<PascalCaseName, RegistryContext> registryContextMap = new HashMap<>();
         for (RegistryFileDiscovery.Registry registry : this.registryFileDiscovery.getRegistries()) {
+            if (null != this.profile && !this.profile.includesRegistry(registry.name)) {
+                continue;
+            }
             CratePath path = registryModulePath
                     .append(CaseConversion.toSnakeCase(registry.name))
                     .append(new SnakeCaseName("v" + registry.version));
@@ -277,7 +423,7 @@ public class RedfishCodegen {
         return registryContextMap;
     }
 
-    private void generateRegistries(Map<PascalCaseName, RegistryContext> registries) throws IOException {
+    private void generateRegistries(Map<PascalCaseName, RegistryContext> registries, List<ModuleFile<?>> files) {
         CratePath registryModulePath = CratePath.parse("crate::" + RustConfig.REGISTRY_BASE_MODULE);
         ModuleContext registriesModule = new ModuleContext(registryModulePath, null);
 
@@ -299,58 +445,104 @@ public class RedfishCodegen {
             ModuleFile<RegistryContext> registryFile = this.fileFactory.makeRegistryFile(registry);
 
             for (ModuleContext context : moduleContexts) {
-                ModuleFile<ModuleContext> file = this.fileFactory.makeModuleFile(context);
-                file.generate();
+                files.add(this.fileFactory.makeModuleFile(context));
             }
 
-            registryFile.generate();
+            files.add(registryFile);
         }
 
         ModuleFile<ModuleContext> registriesFile = this.fileFactory.makeModuleFile(registriesModule);
-        registriesFile.generate();
+        files.add(registriesFile);
     }
 
-    public void generate(String component) throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
-        Map<String, ModuleFile<ModelContext>> models = this.buildModels();
+    // Generate each component into its crate directory. The models and registries are built only once, and shared
+    // between the components, which are then generated concurrently. If writeIfChanged is set, files are only written
+    // when their contents change, files whose inputs haven't changed since the last run are not rendered at all, and
+    // stale source files are removed. The files of every component are rendered and written on a pool of emitThreads
+    // threads.
+    public void generate(Map<String, IOutputSink> components, boolean writeIfChanged, int emitThreads) throws IOException, URISyntaxException {
+        for (String component : components.keySet()) {
+            if (!COMPONENTS.contains(component)) {
+                throw new RuntimeException("Unknown component " + component);
+            }
+        }
 
-        RustType messageType = this.getMessageType(models);
-        RustType health = this.modelResolver.resolvePath("#/components/schemas/Resource_Health");
+        // Building the models loads every schema in the document, so it's skipped if they won't be generated.
+        Map<String, ModuleFile<ModelContext>> models = components.containsKey("models")
+                ? this.buildModels() : Map.of();
+
+        RustType messageType = this.modelResolver.resolvePath(this.getMessageModelName());
+        RustType health = this.modelResolver.resolvePath("#/components/schemas/" + HEALTH_MODEL);
         RegistryFactory factory = new RegistryFactory(messageType, health);
         Map<PascalCaseName, RegistryContext> registries = this.buildRegistries(factory);
+
+        ExecutorService executor = Executors.newFixedThreadPool(components.size());
+        try (FileEmitter emitter = new FileEmitter(emitThreads)) {
+            List<Future<Void>> results = new ArrayList<>();
+            for (Map.Entry<String, IOutputSink> component : components.entrySet()) {
+                results.add(executor.submit(() -> {
+                    try (CrateDirectory crateDirectory = new CrateDirectory(component.getValue(), writeIfChanged,
+                            this.inputs)) {
+                        this.generateComponent(component.getKey(), crateDirectory, emitter, models, registries);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<Void> result : results) {
+                try {
+                    result.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof URISyntaxException) {
+                        throw (URISyntaxException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else {
+                        throw new RuntimeException(cause);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void generateComponent(String component, CrateDirectory crateDirectory, FileEmitter emitter,
+                                   Map<String, ModuleFile<ModelContext>> models, Map<PascalCaseName, RegistryContext> registries)
+            throws IOException, URISyntaxException {
+        LOGGER.info("Generating component " + component + " in " + crateDirectory.getSink());
+        // The files of the component are collected first, because the contexts of some (e.g. the modules) are only
+        // complete once every file has been created. Then they're all emitted at once.
+        List<ModuleFile<?>> files = new ArrayList<>();
         switch (component) {
             case "models" -> {
-                this.generateModels(models);
-                this.generateRegistries(registries);
-                this.generateModelsLib();
+                this.generateModels(models, files);
+                this.generateRegistries(registries, files);
+                this.generateModelsLib(files);
             }
-            case "routing" -> this.generateRouting(registries);
+            case "routing" -> this.generateRouting(registries, files);
             default -> throw new RuntimeException("Unknown component " + component);
         }
+        long start = System.nanoTime();
+        emitter.emit(files, crateDirectory);
+        LOGGER.info("Emitted " + files.size() + " files in " + (System.nanoTime() - start) / 1000000 + "ms");
+
+        crateDirectory.removeStaleFiles();
+        crateDirectory.saveManifest();
+        crateDirectory.complete();
+        LOGGER.info("Component " + component + ": " + crateDirectory.getSummary());
     }
 
-    private RustType getMessageType(Map<String, ModuleFile<ModelContext>> models) {
-        Pattern messagePattern = Pattern.compile("^Message_.*");
-        Version latestVersion = models.keySet().stream()
-                .filter((k) -> {
-                    Matcher matcher = messagePattern.matcher(k);
-                    return matcher.find();
-                })
-                .map((m) -> {
-                    try {
-                        VersionedSchemaIdentifier identifier = new VersionedSchemaIdentifier(m);
-                        return Version.parse(identifier.getVersion().toString(),
-                                Pattern.compile("v([0-9]+)_([0-9]+)_([0-9]+)"));
-                    } catch (IdentifierParseError e) {
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .max(Version::compareTo)
-                .get();
-
-        String messageModel = "Message_v" + latestVersion.major + "_" + latestVersion.minor + "_" + latestVersion.patch
-                + "_Message";
-        return models.get(messageModel).getContext().rustType;
+    // The name of the latest version of the Message schema
+    private String getMessageModelName() {
+        Version latestVersion = this.schemaIdentifierIndex.getLatestVersion("Message").get();
+        return "Message_v" + latestVersion.major + "_" + latestVersion.minor + "_" + latestVersion.patch + "_Message";
     }
 
     public static void main(String[] args) {
@@ -363,14 +555,43 @@ public class RedfishCodegen {
         Option registryDirectoryOption = new Option("registryDirectory", true,
                 "Directory containing registry definition files");
         registryDirectoryOption.setRequired(true);
-        Option componentOption = new Option("component", true, "Data model component to generate");
+        Option componentOption = new Option("component", true,
+                "Data model component to generate, optionally followed by '=' and the crate directory to generate it"
+                        + " into (the default is the current directory), or a .tar or .zip archive to generate it into."
+                        + " May be given more than once.");
         componentOption.setRequired(true);
+        Option cacheDirectoryOption = new Option("cacheDirectory", true,
+                "Directory in which to store snapshots of the parsed OpenAPI document between runs");
+        Option parserThreadsOption = new Option("parserThreads", true,
+                "Number of threads used to flatten the OpenAPI document (the default is 1)");
+        Option profileOption = new Option("profile", true,
+                "Redfish Interop Profile, or list of resource and registry names, to restrict generation to");
+        Option writeIfChangedOption = new Option("writeIfChanged", false,
+                "Only write files whose contents have changed, and remove stale source files from the crate");
+        Option emitThreadsOption = new Option("emitThreads", true,
+                "Number of threads used to render and write files (the default is the number of processors, and 1"
+                        + " renders them in order)");
+        Option dryRunOption = new Option("dryRun", false,
+                "Generate the components in memory, without writing any files");
+        Option privilegeMasksOption = new Option("privilegeMasks", false,
+                "Emit the privileges required by each operation as constant bitmasks, instead of And/Or combinators");
+        Option flatRoutesOption = new Option("flatRoutes", false,
+                "Register every component of the routing crate directly on a single router, at each of its paths in a"
+                        + " generated route table, instead of nesting the routers of subcomponents");
 
         Options options = new Options();
         options.addOption(specDirectoryOption);
         options.addOption(crateDirectoryOption);
         options.addOption(registryDirectoryOption);
         options.addOption(componentOption);
+        options.addOption(cacheDirectoryOption);
+        options.addOption(parserThreadsOption);
+        options.addOption(profileOption);
+        options.addOption(writeIfChangedOption);
+        options.addOption(emitThreadsOption);
+        options.addOption(dryRunOption);
+        options.addOption(privilegeMasksOption);
+        options.addOption(flatRoutesOption);
 
         CommandLineParser parser = new DefaultParser();
         HelpFormatter formatter = new HelpFormatter();
@@ -381,15 +602,40 @@ public class RedfishCodegen {
             String specDirectory = command.getOptionValue("specDirectory");
             String specVersion = command.getOptionValue("specVersion");
             String registryDirectory = command.getOptionValue("registryDirectory");
-            String component = command.getOptionValue("component");
-
-            RedfishCodegen codegen = new RedfishCodegen(specDirectory, specVersion, registryDirectory);
-            codegen.generate(component);
+            Map<String, IOutputSink> components = new LinkedHashMap<>();
+            for (String value : command.getOptionValues("component")) {
+                String[] component = value.split("=", 2);
+                if (components.containsKey(component[0])) {
+                    throw new ParseException("Component " + component[0] + " was given more than once");
+                }
+                Path path = Path.of(component.length > 1 ? component[1] : "");
+                ArchiveSink.Format format = component.length > 1 ? ArchiveSink.getFormat(path) : null;
+                if (command.hasOption("dryRun")) {
+                    components.put(component[0], new MemorySink(component[0]));
+                } else if (null != format) {
+                    components.put(component[0], new ArchiveSink(path, format));
+                } else {
+                    components.put(component[0], new FileSystemSink(path));
+                }
+            }
+            String cacheDirectory = command.getOptionValue("cacheDirectory");
+            int parserThreads = Integer.parseInt(command.getOptionValue("parserThreads", "1"));
+            int emitThreads = command.hasOption("emitThreads")
+                    ? Integer.parseInt(command.getOptionValue("emitThreads"))
+                    : Runtime.getRuntime().availableProcessors();
+
+            InteropProfile profile = command.hasOption("profile")
+                    ? InteropProfile.load(Path.of(command.getOptionValue("profile"))) : null;
+
+            RedfishCodegen codegen = new RedfishCodegen(specDirectory, specVersion, registryDirectory, cacheDirectory,
+                    parserThreads, profile, command.hasOption("privilegeMasks"),
+                    command.hasOption("flatRoutes"));
+            codegen.generate(components, command.hasOption("writeIfChanged"), emitThreads);
         } catch (ParseException e) {
             System.out.println(e.getMessage());
             formatter.printHelp("RedfishCodegen", options);
             System.exit(1);
-        } catch (IOException | URISyntaxException | ParserConfigurationException | SAXException e) {
+        } catch (IOException | URISyntaxException e) {
             throw new RuntimeException(e);
         }
     }
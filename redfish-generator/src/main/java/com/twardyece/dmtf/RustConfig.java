@@ -3,9 +3,7 @@ package com.twardyece.dmtf;
 import com.twardyece.dmtf.text.*;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RustConfig {
     public static final String FILE_EXTENSION = ".rs";
@@ -17,8 +15,11 @@ public class RustConfig {
     public static final String CRATE_ROOT_FILE = "lib.rs";
     public static final List<SnakeCaseName> RESERVED_KEYWORDS;
 
-    private static final Pattern reservedCharactersInFirstPosition = Pattern.compile("^@");
-    private static final Pattern invalidCharacters = Pattern.compile("[@./:#-]");
+    // Characters that may not appear in identifiers, and are replaced by word separators. "@" is also reserved in the
+    // first position.
+    private static final String INVALID_CHARACTERS = "@./:#-";
+    private static final Map<String, SnakeCaseName> sanitizedPropertyNames = new ConcurrentHashMap<>();
+    private static final Map<String, PascalCaseName> sanitizedIdentifiers = new ConcurrentHashMap<>();
 
     static {
         RESERVED_KEYWORDS = new ArrayList<>();
@@ -35,42 +36,28 @@ public class RustConfig {
     }
 
     public static SnakeCaseName sanitizePropertyName(String name) {
-        List<SnakeCaseName> safeName = Arrays.stream(
-                        replaceInvalidCharacters(
-                                removeReservedCharactersInFirstPosition(name))
-                                .split(" "))
-                .filter((identifier) -> !"".equals(identifier))
-                .map((identifier) -> CaseConversion.toSnakeCase(identifier))
-                .collect(Collectors.toList());
-        return RustConfig.escapeReservedKeyword(new SnakeCaseName(safeName));
+        return sanitizedPropertyNames.computeIfAbsent(name, (key) -> RustConfig.escapeReservedKeyword(
+                new SnakeCaseName(splitIdentifier(key).stream().map(CaseConversion::toSnakeCase).toList())));
     }
 
     public static PascalCaseName sanitizeIdentifier(String name) {
-        List<PascalCaseName> components = Arrays.stream(
-                replaceInvalidCharacters(
-                        removeReservedCharactersInFirstPosition(name)
-                ).split(" "))
-                .filter((identifier) -> !"".equals(identifier))
-                .map((identifier) -> CaseConversion.toPascalCase(identifier))
-                .collect(Collectors.toList());
-        return new PascalCaseName(components);
+        return sanitizedIdentifiers.computeIfAbsent(name, (key) ->
+                new PascalCaseName(splitIdentifier(key).stream().map(CaseConversion::toPascalCase).toList()));
     }
 
-    private static String removeReservedCharactersInFirstPosition(String name) {
-        Matcher matcher = reservedCharactersInFirstPosition.matcher(name);
-        if (matcher.find()) {
-            return matcher.replaceFirst("");
-        } else {
-            return name;
-        }
-    }
-
-    private static String replaceInvalidCharacters(String name) {
-        Matcher matcher = invalidCharacters.matcher(name);
-        if (matcher.find()) {
-            return matcher.replaceAll(" ");
-        } else {
-            return name;
+    // Split the name into the identifiers that are separated by spaces or invalid characters. A reserved character in
+    // the first position is removed, which is the same as treating it as a separator.
+    private static List<String> splitIdentifier(String name) {
+        List<String> identifiers = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= name.length(); ++i) {
+            if (i == name.length() || ' ' == name.charAt(i) || INVALID_CHARACTERS.indexOf(name.charAt(i)) >= 0) {
+                if (start < i) {
+                    identifiers.add(name.substring(start, i));
+                }
+                start = i + 1;
+            }
         }
+        return identifiers;
     }
 }
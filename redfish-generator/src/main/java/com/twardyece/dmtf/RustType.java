@@ -4,75 +4,88 @@ import com.twardyece.dmtf.text.ICaseConvertible;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Types are immutable, so that a type which is referred to from many places may be shared (see
+ * {@link com.twardyece.dmtf.model.ModelResolver}). How a type is named from within a particular module depends on the
+ * imports of that module, and is computed by {@link ModuleContext#getImportedName(RustType)}.
+ */
 public class RustType implements Comparable<RustType> {
     // The absolute path of the type (i.e., where its definition lives)
-    private CratePath path;
-    // The path of the type, taking into consideration any namespaces which are importing with "use" statements
-    // TODO: Removing importPath will make this class much simpler.
-    private CratePath importPath;
-    private ICaseConvertible name;
-    private List<RustType> innerTypes;
+    private final CratePath path;
+    private final ICaseConvertible name;
+    private final List<RustType> innerTypes;
+    private final String value;
 
     public RustType(SnakeCaseName name) {
-        this.name = name;
-        this.innerTypes = new ArrayList<>();
+        this(null, name, List.of());
     }
 
     public RustType(CratePath path, PascalCaseName name) {
-        this.path = path;
-        this.importPath = path;
-        this.name = name;
-        this.innerTypes = new ArrayList<>();
+        this(path, name, List.of());
     }
 
     public RustType(CratePath path, PascalCaseName name, RustType[] innerTypes) {
+        this(path, name, Arrays.asList(innerTypes));
+    }
+
+    private RustType(CratePath path, ICaseConvertible name, List<RustType> innerTypes) {
         this.path = path;
-        this.importPath = path;
         this.name = name;
-        this.innerTypes = Arrays.stream(innerTypes).toList();
+        this.innerTypes = List.copyOf(innerTypes);
+        this.value = render(this.path, this.name, this.innerTypes.stream().map(RustType::toString).toList());
     }
 
-    @Override
-    public String toString() {
+    /**
+     * Render the type, naming it (and each of its inner types) by the path returned from the view.
+     */
+    public String render(PathView view) {
+        CratePath path = null != this.path ? view.getPath(this) : null;
+        List<String> innerTypes = this.innerTypes.stream().map((innerType) -> innerType.render(view)).toList();
+        return render(path, this.name, innerTypes);
+    }
+
+    private static String render(CratePath path, ICaseConvertible name, List<String> innerTypes) {
         String value;
-        if (null != this.importPath) {
-            value = this.importPath.joinComponent(this.name);
+        if (null != path) {
+            value = path.joinComponent(name);
         } else {
-            value = this.name.toString();
+            value = name.toString();
         }
-        if (!this.innerTypes.isEmpty()) {
-                value += "<" + String.join(",", this.innerTypes.stream().map(RustType::toString).toList()) + ">";
+        if (!innerTypes.isEmpty()) {
+            value += "<" + String.join(",", innerTypes) + ">";
         }
 
         return value;
     }
 
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
     public CratePath getPath() { return this.path; }
-    public void setPath(CratePath cratePath) { this.path = cratePath; }
 
     // A type is primitive if it does not require importing its containing module.
     public boolean isPrimitive() { return null == this.path; }
 
-    public void setImportPath(CratePath path) { this.importPath = path; }
-
     public List<RustType> getInnerTypes() { return this.innerTypes; }
 
     public ICaseConvertible getName() { return this.name; }
-    public void setName(ICaseConvertible name) { this.name = name; }
 
     @Override
     public int compareTo(RustType o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof RustType) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof RustType) {
+            return this.value.equals(((RustType) o).value);
         } else {
             return false;
         }
@@ -80,6 +93,10 @@ public class RustType implements Comparable<RustType> {
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.value.hashCode();
+    }
+
+    public interface PathView {
+        CratePath getPath(RustType rustType);
     }
 }
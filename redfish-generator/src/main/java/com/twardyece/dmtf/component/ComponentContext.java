@@ -7,6 +7,7 @@ import com.twardyece.dmtf.text.SnakeCaseName;
 import io.swagger.v3.oas.models.PathItem;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class ComponentContext implements Comparable<ComponentContext> {
     public ModuleContext moduleContext;
@@ -19,12 +20,14 @@ public class ComponentContext implements Comparable<ComponentContext> {
     public final List<String> paths;
     public PrivilegeRegistry.OperationPrivilegeMapping defaultPrivileges;
     public final List<SubordinatePrivilegeOverride> subordinatePrivilegeOverrides;
+    // Whether the component is registered at each of its paths on a single router, instead of being nested
+    public boolean flatRoutes;
 
     public ComponentContext(RustType rustType, RustType baseRegistry) {
         this.moduleContext = new ModuleContext(rustType.getPath(), null);
         this.rustType = rustType;
         this.baseRegistry = baseRegistry;
-        this.operationMap = new HashMap<>();
+        this.operationMap = new EnumMap<>(PathItem.HttpMethod.class);
         this.subcomponents = new ArrayList<>();
         this.owningComponents = new ArrayList<>();
         this.actions = new ArrayList<>();
@@ -37,6 +40,13 @@ public class ComponentContext implements Comparable<ComponentContext> {
         return new PascalCaseName(this.rustType.getName());
     }
     public Collection<Operation> operations() { return this.operationMap.values(); }
+    // The bit and name of each method the component may serve, in the order they appear in the Allow header, as the
+    // elements of a Rust slice of (u8, &str)
+    public String allowedMethods() {
+        return this.operationMap.values().stream()
+                .map((operation) -> "(" + operation.methodMask() + ", \"" + operation.upperSnakeCaseName() + "\")")
+                .collect(Collectors.joining(", "));
+    }
     public boolean hasOwningComponents() { return !this.owningComponents.isEmpty(); }
     public boolean isCollection() { return this.rustType.getName().toString().endsWith("Collection"); }
     public List<PrivilegedOperation> privilegedOperations() {
@@ -64,6 +74,11 @@ public class ComponentContext implements Comparable<ComponentContext> {
 
         public SnakeCaseName snakeCaseName() { return new SnakeCaseName(this.pascalCaseName); }
         public String upperSnakeCaseName() { return this.pascalCaseName.toString().toUpperCase(); }
+        // The bit of the method in the set of methods served by a component
+        public String methodMask() {
+            int bit = PathItem.HttpMethod.valueOf(this.upperSnakeCaseName()).ordinal();
+            return String.format("0x%02x", 1 << bit);
+        }
         public boolean isPost() { return this.pascalCaseName.toString().equals("Post"); }
     }
 
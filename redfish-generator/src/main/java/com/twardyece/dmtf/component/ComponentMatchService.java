@@ -55,24 +55,22 @@ public class ComponentMatchService {
 
             List<ComponentContext> subcomponents = repository.getSubcomponents(next);
             Map<String, ComponentContext> subcomponentMap = new HashMap<>();
+            // Subcomponents are mounted on the paths of this component that are direct parents of their own paths.
+            PathTrie paths = this.pathService.createTrie(next.paths);
             for (ComponentContext component : subcomponents) {
                 for (String path : component.paths) {
-                    try {
-                        String parentPath = this.pathService.getClosestParent(next.paths, path);
-                        String mountpoint = path.substring(parentPath.length());
-                        boolean isDirectDescendant = 1 == (mountpoint.length() - mountpoint.replace("/", "").length());
-                        if (!isDirectDescendant) {
-                            continue;
-                        }
+                    Optional<String> parentPath = paths.getDirectParent(path);
+                    if (parentPath.isEmpty()) {
+                        continue;
+                    }
 
-                        Matcher matcher = PARAMETER_PATTERN.matcher(mountpoint);
-                        if (matcher.find()) {
-                            mountpoint = "/:" + new SnakeCaseName(component.rustType.getName()) + "_id";
-                        }
-                        if (!subcomponentMap.containsKey(mountpoint)) {
-                            subcomponentMap.put(mountpoint, component);
-                        }
-                    } catch (PathService.NoCloseParentException ignored) {
+                    String mountpoint = path.substring(parentPath.get().length());
+                    Matcher matcher = PARAMETER_PATTERN.matcher(mountpoint);
+                    if (matcher.find()) {
+                        mountpoint = "/:" + new SnakeCaseName(component.rustType.getName()) + "_id";
+                    }
+                    if (!subcomponentMap.containsKey(mountpoint)) {
+                        subcomponentMap.put(mountpoint, component);
                     }
                 }
             }
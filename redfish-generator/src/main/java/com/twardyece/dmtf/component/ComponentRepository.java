@@ -14,7 +14,8 @@ import java.util.Map;
 
 public class ComponentRepository {
     private final ComponentTypeTranslationService componentTypeTranslationService;
-    private final PathService pathService;
+    // The paths of every component, to find the component that each new path is mounted on
+    private final PathTrie componentPaths;
     private final RustType baseRegistry;
     private final Graph<ComponentContext, DefaultEdge> graph;
     private ComponentContext root;
@@ -23,7 +24,7 @@ public class ComponentRepository {
 
     public ComponentRepository(ComponentTypeTranslationService componentTypeTranslationService, PathService pathService, RustType baseRegistry) {
         this.componentTypeTranslationService = componentTypeTranslationService;
-        this.pathService = pathService;
+        this.componentPaths = pathService.createTrie(List.of());
         this.baseRegistry = baseRegistry;
         this.graph = new DefaultDirectedGraph<>(DefaultEdge.class);
         this.componentsByRef = new HashMap<>();
@@ -36,6 +37,7 @@ public class ComponentRepository {
             ComponentContext component = this.componentsByRef.get(componentRef);
             if (!this.componentsByPath.containsKey(path)) {
                 this.componentsByPath.put(path, component);
+                this.componentPaths.add(path);
                 component.addPath(path);
                 this.graph.addEdge(this.getComponentParentOfPath(path), component);
             }
@@ -48,6 +50,7 @@ public class ComponentRepository {
         this.graph.addVertex(component);
         this.componentsByRef.put(componentRef, component);
         this.componentsByPath.put(path, component);
+        this.componentPaths.add(path);
         component.addPath(path);
 
         if (null == this.root) {
@@ -60,7 +63,7 @@ public class ComponentRepository {
     }
 
     public ComponentContext getComponentParentOfPath(String path) {
-        String mountpoint = this.pathService.getClosestParent(this.componentsByPath.keySet(), path);
+        String mountpoint = this.componentPaths.getClosestParent(path);
         return this.componentsByPath.get(mountpoint);
     }
 
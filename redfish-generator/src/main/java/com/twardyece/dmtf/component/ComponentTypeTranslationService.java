@@ -21,11 +21,11 @@ public class ComponentTypeTranslationService {
     }
 
     public RustType getRustTypeForComponentName(String name) {
-        return getRustType(new PascalCaseName(name));
+        return getRustType(PascalCaseName.of(name));
     }
 
     private static RustType getRustType(ICaseConvertible name) {
-        return new RustType(CratePath.parse("crate::" + new SnakeCaseName(name)),
+        return new RustType(CratePath.of("crate::" + new SnakeCaseName(name)),
                 new PascalCaseName(name));
     }
 }
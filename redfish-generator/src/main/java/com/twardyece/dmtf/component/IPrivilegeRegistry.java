@@ -0,0 +1,16 @@
+package com.twardyece.dmtf.component;
+
+import com.twardyece.dmtf.text.PascalCaseName;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.List;
+
+public interface IPrivilegeRegistry {
+    // The privileges required for the operations of the component, or null if the registry has no mapping for it
+    PrivilegeRegistry.OperationPrivilegeMapping getPrivilegesForComponent(PascalCaseName componentName);
+
+    // The privileges required for the operations of the component when it's a property of each entity that overrides
+    // them, by the name of the entity
+    List<Pair<String, PrivilegeRegistry.OperationPrivilegeMapping>> getSubordinatePrivilegeOverridesForComponent(
+            PascalCaseName componentName);
+}
@@ -1,59 +1,184 @@
 package com.twardyece.dmtf.component;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twardyece.dmtf.openapi.DocumentSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
+/**
+ * Discovers the namespaces of the CSDL files referenced by the OData metadata document. Only the Namespace attributes
+ * of the first and last Schema elements of each file are needed, so the files are scanned with a streaming parser,
+ * in parallel, instead of being parsed into documents. When a cache directory is given, the namespaces of each file
+ * are cached by the hash of its contents, so unchanged files aren't scanned again.
+ */
 public class MetadataFileDiscovery {
     private final Path csdlDirectory;
-    private final DocumentBuilderFactory factory;
+    private final Path cacheDirectory;
+    private static final String CACHE_FILE_NAME = "csdl-namespaces.json";
+    private static final String SCHEMA_ELEMENT = "Schema";
+    private static final String NAMESPACE_ATTRIBUTE = "Namespace";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Factories aren't guaranteed to be thread-safe, so each scanning thread has its own.
+    private static final ThreadLocal<XMLInputFactory> FACTORY = ThreadLocal.withInitial(XMLInputFactory::newInstance);
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataFileDiscovery.class);
+
+    // The namespaces of the CSDL files scanned by a version of the generator, by the hash of each file
+    private record Cache(String generatorVersion, Map<String, List<String>> namespaces) {}
 
-    public MetadataFileDiscovery(Path csdlDirectory) {
+    public MetadataFileDiscovery(Path csdlDirectory, Path cacheDirectory) {
         this.csdlDirectory = csdlDirectory;
-        this.factory = DocumentBuilderFactory.newInstance();
+        this.cacheDirectory = cacheDirectory;
     }
 
-    public List<MetadataRoutingContext.Reference> getReferences() throws URISyntaxException, ParserConfigurationException, IOException, SAXException {
-        DocumentBuilder builder = this.factory.newDocumentBuilder();
+    public List<MetadataRoutingContext.Reference> getReferences() throws URISyntaxException, IOException {
+        String[] files = Objects.requireNonNull(this.csdlDirectory.toFile().list());
+        Map<String, List<String>> cachedNamespaces = this.loadCache();
+        Map<String, List<String>> namespaces = new ConcurrentHashMap<>();
+        List<List<String>> fileNamespaces;
+        try {
+            fileNamespaces = IntStream.range(0, files.length)
+                    .parallel()
+                    .mapToObj((i) -> {
+                        try {
+                            byte[] contents = Files.readAllBytes(this.csdlDirectory.resolve(files[i]));
+                            String hash = hash(contents);
+                            List<String> result = cachedNamespaces.get(hash);
+                            if (null == result) {
+                                result = this.scanNamespaces(files[i], contents);
+                            }
+                            namespaces.put(hash, result);
+                            return result;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (!cachedNamespaces.equals(namespaces)) {
+            this.saveCache(namespaces);
+        }
+
         List<MetadataRoutingContext.Reference> references = new ArrayList<>();
-        for (String file : Objects.requireNonNull(this.csdlDirectory.toFile().list())) {
-            Document document = builder.parse(this.csdlDirectory + "/" + file);
-            NodeList schemas = document.getElementsByTagName("Schema");
-
-            List<MetadataRoutingContext.Reference.Namespace> namespaces = new ArrayList<>();
-            if (1 > schemas.getLength()) {
-                throw new RuntimeException("No Schema tags present in CSDL file " + file);
-            } else if (1 == schemas.getLength()) {
-                // If there's only one Schema object, this might be an unversioned schema, like ComputerSystemCollection.
-                namespaces.add(getNamespaceFromNode(schemas.item(0)));
-            } else {
-                // Otherwise, get the first schema (which is usually the parent one) and the last (the latest version).
-                namespaces.add(getNamespaceFromNode(schemas.item(0)));
-                namespaces.add(getNamespaceFromNode(schemas.item(schemas.getLength() - 1)));
+        for (int i = 0; i < files.length; ++i) {
+            URI uri = new URI("http://redfish.dmtf.org/schemas/v1/" + files[i]);
+            references.add(new MetadataRoutingContext.Reference(uri, fileNamespaces.get(i)
+                    .stream()
+                    .map(MetadataRoutingContext.Reference.Namespace::new)
+                    .toList()));
+        }
+        return references;
+    }
+
+    private List<String> scanNamespaces(String file, byte[] contents) {
+        String first = null;
+        String last = null;
+        int schemas = 0;
+        try {
+            XMLStreamReader reader = FACTORY.get().createXMLStreamReader(new ByteArrayInputStream(contents));
+            try {
+                while (reader.hasNext()) {
+                    if (XMLStreamConstants.START_ELEMENT == reader.next() && isSchema(reader)) {
+                        String namespace = reader.getAttributeValue(null, NAMESPACE_ATTRIBUTE);
+                        last = null != namespace ? namespace : "";
+                        if (0 == schemas++) {
+                            first = last;
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
             }
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not parse CSDL file " + file, e);
+        }
 
-            URI uri = new URI("http://redfish.dmtf.org/schemas/v1/" + file);
-            references.add(new MetadataRoutingContext.Reference(uri, namespaces));
+        if (1 > schemas) {
+            throw new RuntimeException("No Schema tags present in CSDL file " + file);
+        } else if (1 == schemas) {
+            // If there's only one Schema object, this might be an unversioned schema, like ComputerSystemCollection.
+            return List.of(first);
+        } else {
+            // Otherwise, get the first schema (which is usually the parent one) and the last (the latest version).
+            return List.of(first, last);
         }
-        return references;
     }
 
-    private static MetadataRoutingContext.Reference.Namespace getNamespaceFromNode(Node item) {
-        Element element = (Element)item;
-        return new MetadataRoutingContext.Reference.Namespace(element.getAttribute("Namespace"));
+    // Schema elements are matched by their qualified name, as they were when the files were parsed into documents.
+    private static boolean isSchema(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return SCHEMA_ELEMENT.equals(reader.getLocalName()) && (null == prefix || prefix.isEmpty());
+    }
+
+    private static String hash(byte[] contents) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte value : digest.digest(contents)) {
+            hash.append(String.format("%02x", value));
+        }
+        return hash.toString();
+    }
+
+    private Map<String, List<String>> loadCache() {
+        if (null == this.cacheDirectory) {
+            return Map.of();
+        }
+
+        Path file = this.cacheDirectory.resolve(CACHE_FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
+
+        try {
+            Cache cache = MAPPER.readValue(file.toFile(), Cache.class);
+            if (!DocumentSnapshot.getGeneratorVersion().equals(cache.generatorVersion()) || null == cache.namespaces()) {
+                return Map.of();
+            }
+            return cache.namespaces();
+        } catch (IOException e) {
+            LOGGER.warn("Discarding unreadable CSDL namespace cache " + file + ": " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void saveCache(Map<String, List<String>> namespaces) throws IOException {
+        if (null == this.cacheDirectory) {
+            return;
+        }
+
+        // Write to a temporary file first, so that a concurrent or interrupted run never observes a partial cache.
+        Files.createDirectories(this.cacheDirectory);
+        Path temporary = Files.createTempFile(this.cacheDirectory, CACHE_FILE_NAME, ".tmp");
+        MAPPER.writeValue(temporary.toFile(), new Cache(DocumentSnapshot.getGeneratorVersion(),
+                new TreeMap<>(namespaces)));
+        Files.move(temporary, this.cacheDirectory.resolve(CACHE_FILE_NAME), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
     }
 
     public String getServiceRootVersion() {
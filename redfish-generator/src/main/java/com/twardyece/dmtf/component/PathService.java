@@ -1,60 +1,23 @@
 package com.twardyece.dmtf.component;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
+import com.twardyece.dmtf.text.CaseConversion;
 
 import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class PathService {
-    public String getClosestParent(Collection<String> paths, String path) {
-        // Determine the closest parent path, which is the largest substring by component from the set of valid paths.
-
-        // Remove a trailing slash, if there is one, because this creates an extra empty element in the component array.
-        String firstPath = removeTrailingSlash(path);
-
-        // Split the path into components separated by '/'
-        String[] firstComponents = firstPath.split("/");
-
-        // Start with a pessimistic parent.
-        Pair<Integer, String> closestParent = new ImmutablePair<>(0, "");
-
-        // For each path in the set...
-        for (String secondPath : paths) {
-            String[] secondComponents = secondPath.split("/");
-            if (secondComponents.length >= firstComponents.length) {
-                continue;
-            }
-
-            int i;
-            boolean finishedEarly = false;
-
-            // For each component in the second path...
-            for (i = 0; i < secondComponents.length; ++i) {
-                // If this component does not match the component at the same position in the first path, quit early.
-                if (!firstComponents[i].equals(secondComponents[i])) {
-                    finishedEarly = true;
-                    break;
-                }
-            }
-
-            // If we didn't break early, and the first path has one extra component than the second path, this is a
-            // direct parent of the first path.
-            if (!finishedEarly && firstComponents.length == secondComponents.length + 1) {
-                return secondPath;
-            }
-            // If we did finish early, and this path matched a greater number of components than the previous closest
-            // parent, make this the new closest parent.
-            else if (!finishedEarly && i > closestParent.getLeft()) {
-                closestParent = new ImmutablePair<>(i, secondPath);
-            }
-        }
-
-        // If the closest parent is still the pessimistic guess, we failed.
-        if (closestParent.getRight().equals("")) {
-            throw new NoCloseParentException(firstPath);
-        } else {
-            return closestParent.getRight();
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\{(?<name>[A-Za-z0-9_]+)}");
+
+    /**
+     * Create a trie of the paths, to find the closest parents of other paths among them.
+     */
+    public PathTrie createTrie(Collection<String> paths) {
+        PathTrie trie = new PathTrie();
+        for (String path : paths) {
+            trie.add(path);
         }
+        return trie;
     }
 
     public static String removeTrailingSlash(String path) {
@@ -66,6 +29,20 @@ public class PathService {
         return path.substring(0, endIndex);
     }
 
+    /**
+     * Convert an OpenAPI path template to the syntax of axum routes, e.g. /Systems/{ComputerSystemId} to
+     * /Systems/:computer_system_id.
+     */
+    public static String toAxumPath(String path) {
+        Matcher matcher = PARAMETER_PATTERN.matcher(path);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, ":" + CaseConversion.toSnakeCase(matcher.group("name")));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
     public static class NoCloseParentException extends RuntimeException {
         public NoCloseParentException(String path) {
             super("There is no close relative of path " + path);
@@ -0,0 +1,70 @@
+package com.twardyece.dmtf.component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A trie of paths, keyed by their components (separated by '/'). The closest parent of a path is found in time
+ * proportional to the depth of the path, instead of the number of paths in the trie.
+ */
+public class PathTrie {
+    private final Node root = new Node();
+
+    private static class Node {
+        final Map<String, Node> children = new HashMap<>();
+        // The path that ends at this node, if any
+        String path;
+    }
+
+    public void add(String path) {
+        Node node = this.root;
+        for (String component : path.split("/")) {
+            node = node.children.computeIfAbsent(component, (key) -> new Node());
+        }
+        if (null == node.path) {
+            node.path = path;
+        }
+    }
+
+    /**
+     * Get the closest parent of the path, which is the path in the trie sharing the most leading components with it.
+     *
+     * @throws PathService.NoCloseParentException if there is no parent of the path in the trie
+     */
+    public String getClosestParent(String path) {
+        String firstPath = PathService.removeTrailingSlash(path);
+        String[] components = firstPath.split("/");
+
+        // A parent has at least one component fewer than the path. Only the direct parent may match no components.
+        int depth = components.length - 1;
+        String closestParent = 0 == depth ? this.root.path : null;
+        boolean isDirectParent = null != closestParent;
+        Node node = this.root;
+        for (int i = 0; i < depth && null != node; ++i) {
+            node = node.children.get(components[i]);
+            if (null != node && null != node.path) {
+                closestParent = node.path;
+                isDirectParent = i + 1 == depth;
+            }
+        }
+
+        if (null == closestParent || (!isDirectParent && closestParent.isEmpty())) {
+            throw new PathService.NoCloseParentException(firstPath);
+        }
+        return closestParent;
+    }
+
+    /**
+     * Get the direct parent of the path, which is the path in the trie with all but the last of its components. Paths
+     * of components never have a trailing slash, so the mountpoint of the path on its parent is the remainder of it.
+     */
+    public Optional<String> getDirectParent(String path) {
+        String[] components = PathService.removeTrailingSlash(path).split("/");
+        Node node = this.root;
+        for (int i = 0; i < components.length - 1 && null != node; ++i) {
+            node = node.children.get(components[i]);
+        }
+        return null != node ? Optional.ofNullable(node.path) : Optional.empty();
+    }
+}
@@ -14,72 +14,113 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class PrivilegeRegistry {
+/**
+ * The Redfish Privilege Registry. The mappings of the registry are indexed by entity, and the subordinate overrides by
+ * target, when the registry is loaded. The privileges of each component are only parsed once, the first time they're
+ * requested, because they're requested for every path of the component.
+ * <p>
+ * By default, the privileges required for an operation are rendered as a tree of And/Or combinators. When privilege
+ * masks are enabled, they are instead reduced to disjunctive normal form, and rendered as a single AnyOf type whose
+ * const parameter holds the bitmask of each term, so the check is a few bitwise operations, and operations requiring
+ * the same privileges share a type. The masks are rendered as const expressions of the masks of the variants of
+ * redfish_core::privilege::Privilege, rather than as literals, so they can't drift from the enum.
+ */
+public class PrivilegeRegistry implements IPrivilegeRegistry {
     private final CratePath privilegePath;
-    private final JSONArray mappings;
+    private final boolean privilegeMasks;
+    // The operation map of each entity
+    private final Map<String, JSONObject> operationMaps = new HashMap<>();
+    // The overrides targeting each entity, in the order in which they appear in the registry
+    private final Map<String, List<TargetOverride>> overridesByTarget = new HashMap<>();
+    private final Map<String, Optional<OperationPrivilegeMapping>> privileges = new ConcurrentHashMap<>();
+    private final Map<String, List<Pair<String, OperationPrivilegeMapping>>> subordinatePrivilegeOverrides =
+            new ConcurrentHashMap<>();
 
-    public PrivilegeRegistry(Path privilegeRegistry, CratePath privilegePath) throws IOException {
+    // The privileges that can appear in a privilege mask. Their bits here are only used to reduce expressions, since
+    // the rendered masks refer to the variants of redfish_core::privilege::Privilege by name.
+    private static final List<String> PRIVILEGE_BITS = List.of("Login", "ConfigureComponents", "ConfigureManager",
+            "ConfigureSelf", "ConfigureUsers");
+    // AnyOf packs one term into each byte of a u64
+    private static final int MAXIMUM_TERMS = 8;
+    private static final String NO_AUTH = "NoAuth";
+
+    // A subordinate override of the operation map of an entity
+    private record TargetOverride(String entity, JSONObject defaultMapping, JSONObject operationMap) {}
+
+    public PrivilegeRegistry(Path privilegeRegistry, CratePath privilegePath, boolean privilegeMasks)
+            throws IOException {
         JSONObject object = new JSONObject(Files.readString(privilegeRegistry));
-        this.mappings = object.getJSONArray("Mappings");
+        JSONArray mappings = object.getJSONArray("Mappings");
         this.privilegePath = privilegePath;
+        this.privilegeMasks = privilegeMasks;
+
+        for (int i = 0; i < mappings.length(); ++i) {
+            JSONObject mapping = mappings.getJSONObject(i);
+            String entity = mapping.getString("Entity");
+            JSONObject defaultMapping = mapping.getJSONObject("OperationMap");
+            // If an entity appears more than once, the first mapping is used.
+            this.operationMaps.putIfAbsent(entity, defaultMapping);
+            if (!mapping.has("SubordinateOverrides")) {
+                continue;
+            }
+
+            JSONArray subordinateOverrides = mapping.getJSONArray("SubordinateOverrides");
+            for (int j = 0; j < subordinateOverrides.length(); ++j) {
+                JSONObject subordinateOverride = subordinateOverrides.getJSONObject(j);
+                JSONArray targets = subordinateOverride.getJSONArray("Targets");
+                TargetOverride override = new TargetOverride(entity, defaultMapping,
+                        subordinateOverride.getJSONObject("OperationMap"));
+                for (int k = 0; k < targets.length(); ++k) {
+                    this.overridesByTarget.computeIfAbsent(targets.getString(k), (target) -> new ArrayList<>())
+                            .add(override);
+                }
+            }
+        }
     }
 
+    @Override
     public OperationPrivilegeMapping getPrivilegesForComponent(PascalCaseName componentName) {
-        String name = componentName.toString();
-        for (int i = 0; i < this.mappings.length(); ++i) {
-            JSONObject mapping = this.mappings.getJSONObject(i);
-            if (!mapping.getString("Entity").equals(name)) {
-                continue;
+        return this.privileges.computeIfAbsent(componentName.toString(), (name) -> {
+            JSONObject operationMap = this.operationMaps.get(name);
+            if (null == operationMap) {
+                return Optional.empty();
             }
 
-            JSONObject operationMap = mapping.getJSONObject("OperationMap");
-            return new OperationPrivilegeMapping(
+            return Optional.of(new OperationPrivilegeMapping(
                     parseOperationMap(operationMap.getJSONArray("GET")),
                     parseOperationMap(operationMap.getJSONArray("HEAD")),
                     parseOperationMap(operationMap.getJSONArray("POST")),
                     parseOperationMap(operationMap.getJSONArray("PUT")),
                     parseOperationMap(operationMap.getJSONArray("PATCH")),
                     parseOperationMap(operationMap.getJSONArray("DELETE"))
-            );
-        }
-        return null;
+            ));
+        }).orElse(null);
     }
 
+    @Override
     public List<Pair<String, OperationPrivilegeMapping>> getSubordinatePrivilegeOverridesForComponent(PascalCaseName componentName) {
-        List<Pair<String, OperationPrivilegeMapping>> overrides = new ArrayList<>();
-        String name = componentName.toString();
-        for (int i = 0; i < this.mappings.length(); ++i) {
-            JSONObject mapping = this.mappings.getJSONObject(i);
-            if (!mapping.has("SubordinateOverrides")) {
-                continue;
-            }
-            JSONObject defaultMapping = mapping.getJSONObject("OperationMap");
-            JSONArray subordinateOverrides = mapping.getJSONArray("SubordinateOverrides");
-            for (int j = 0; j < subordinateOverrides.length(); ++j) {
-                JSONObject subordinateOverride = subordinateOverrides.getJSONObject(j);
-                JSONArray targets = subordinateOverride.getJSONArray("Targets");
-                for (int k = 0; k < targets.length(); ++k) {
-                    if (targets.getString(k).equals(name)) {
-                        JSONObject overriddenOperationMap = subordinateOverride.getJSONObject("OperationMap");
-                        OperationPrivilegeMapping operationPrivilegeMapping = new OperationPrivilegeMapping(
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "GET")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "HEAD")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "POST")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "PUT")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "PATCH")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "DELETE"))
-                        );
-
-                        overrides.add(new ImmutablePair<>(mapping.getString("Entity"), operationPrivilegeMapping));
-                    }
-                }
+        return this.subordinatePrivilegeOverrides.computeIfAbsent(componentName.toString(), (name) -> {
+            List<Pair<String, OperationPrivilegeMapping>> overrides = new ArrayList<>();
+            for (TargetOverride override : this.overridesByTarget.getOrDefault(name, List.of())) {
+                JSONObject defaultMapping = override.defaultMapping();
+                JSONObject overriddenOperationMap = override.operationMap();
+                OperationPrivilegeMapping operationPrivilegeMapping = new OperationPrivilegeMapping(
+                        parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "GET")),
+                        parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "HEAD")),
+                        parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "POST")),
+                        parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "PUT")),
+                        parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "PATCH")),
+                        parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "DELETE"))
+                );
+
+                overrides.add(new ImmutablePair<>(override.entity(), operationPrivilegeMapping));
             }
-        }
 
-        return overrides;
+            return Collections.unmodifiableList(overrides);
+        });
     }
 
     private JSONArray getMappingOrOverride(JSONObject mapping, JSONObject overrides, String key) {
@@ -90,14 +131,18 @@ public class PrivilegeRegistry {
         }
     }
 
-    private RustType parseOperationMap(JSONArray conjunctivePrivileges) {
+    private String parseOperationMap(JSONArray conjunctivePrivileges) {
+        if (this.privilegeMasks) {
+            return parseOperationMask(conjunctivePrivileges);
+        }
+
         List<List<RustType>> privileges = new ArrayList<>();
         for (int i = 0; i < conjunctivePrivileges.length(); ++i) {
             JSONArray disjunctivePrivileges = conjunctivePrivileges.getJSONObject(i)
                     .getJSONArray("Privilege");
             List<RustType> disjunction = new ArrayList<>();
             for (int j = 0; j < disjunctivePrivileges.length(); ++j) {
-                disjunction.add(new RustType(this.privilegePath, new PascalCaseName(disjunctivePrivileges.getString(j))));
+                disjunction.add(new RustType(this.privilegePath, PascalCaseName.of(disjunctivePrivileges.getString(j))));
             }
             privileges.add(disjunction);
         }
@@ -110,11 +155,77 @@ public class PrivilegeRegistry {
                         .get()
                 )
                 .reduce((one, two) -> new RustType(this.privilegePath, new PascalCaseName("Or"), new RustType[]{one, two}))
-                .get();
+                .get()
+                .toString();
+    }
+
+    // Each entry of the operation map is a term, whose privileges must all be held. Terms which require a superset of
+    // the privileges of another term are redundant, and are removed. A term requiring no privileges (NoAuth) is always
+    // satisfied.
+    private String parseOperationMask(JSONArray conjunctivePrivileges) {
+        List<Integer> terms = new ArrayList<>();
+        for (int i = 0; i < conjunctivePrivileges.length(); ++i) {
+            JSONArray disjunctivePrivileges = conjunctivePrivileges.getJSONObject(i)
+                    .getJSONArray("Privilege");
+            int term = 0;
+            for (int j = 0; j < disjunctivePrivileges.length(); ++j) {
+                term |= getPrivilegeBit(disjunctivePrivileges.getString(j));
+            }
+            terms.add(term);
+        }
+
+        List<Integer> minimalTerms = terms.stream()
+                .distinct()
+                .filter((term) -> terms.stream().noneMatch((other) -> other != term.intValue() && (other & term) == other))
+                .sorted()
+                .toList();
+        if (minimalTerms.isEmpty()) {
+            throw new RuntimeException("Privilege expression " + conjunctivePrivileges + " has no terms");
+        } else if (minimalTerms.contains(0)) {
+            return this.privilegePath.joinComponent(new PascalCaseName(NO_AUTH));
+        } else if (minimalTerms.size() > MAXIMUM_TERMS) {
+            throw new RuntimeException("Privilege expression " + conjunctivePrivileges + " has more than "
+                    + MAXIMUM_TERMS + " terms");
+        }
+
+        // Each term is shifted into its own byte, e.g. { (Login.mask() as u64) | (((A.mask() | B.mask()) as u64) << 8) }
+        List<String> masks = new ArrayList<>();
+        for (int i = 0; i < minimalTerms.size(); ++i) {
+            String mask = "(" + this.renderTermMask(minimalTerms.get(i)) + " as u64)";
+            masks.add(0 == i ? mask : "(" + mask + " << " + 8 * i + ")");
+        }
+        return this.privilegePath.joinComponent(new PascalCaseName("AnyOf")) + "<{ " + String.join(" | ", masks)
+                + " }>";
+    }
+
+    // The mask of the privileges in the term, as a const expression of type u8
+    private String renderTermMask(int term) {
+        List<String> privileges = new ArrayList<>();
+        for (int bit = 0; bit < PRIVILEGE_BITS.size(); ++bit) {
+            if (0 != (term & (1 << bit))) {
+                privileges.add(this.privilegePath.joinComponent(new PascalCaseName("Privilege")) + "::"
+                        + PRIVILEGE_BITS.get(bit) + ".mask()");
+            }
+        }
+        String mask = String.join(" | ", privileges);
+        return privileges.size() > 1 ? "(" + mask + ")" : mask;
+    }
+
+    private static int getPrivilegeBit(String privilege) {
+        if (NO_AUTH.equals(privilege)) {
+            return 0;
+        }
+
+        int index = PRIVILEGE_BITS.indexOf(privilege);
+        if (-1 == index) {
+            throw new RuntimeException("Privilege " + privilege + " cannot be represented in a privilege mask");
+        }
+        return 1 << index;
     }
 
-    public record OperationPrivilegeMapping(RustType get, RustType head, RustType post, RustType put, RustType patch,
-                                            RustType delete) {}
+    // Each privilege expression is the Rust type that implements SatisfiesPrivilege for the operation
+    public record OperationPrivilegeMapping(String get, String head, String post, String put, String patch,
+                                            String delete) {}
     public record SubordinatePrivilegeOverride(PascalCaseName owningComponent,
                                                PrivilegeRegistry.OperationPrivilegeMapping privileges) {}
 }
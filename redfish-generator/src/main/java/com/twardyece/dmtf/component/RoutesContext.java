@@ -0,0 +1,71 @@
+package com.twardyece.dmtf.component;
+
+import com.twardyece.dmtf.ModuleContext;
+import com.twardyece.dmtf.RustConfig;
+import com.twardyece.dmtf.RustType;
+import com.twardyece.dmtf.text.CaseConversion;
+import com.twardyece.dmtf.text.ICaseConvertible;
+import com.twardyece.dmtf.text.PascalCaseName;
+import com.twardyece.dmtf.text.SnakeCaseName;
+
+import java.util.*;
+
+// Context for the flat route table of the routing crate, which contains every path of every component.
+public record RoutesContext(ModuleContext module, List<Route> routes) {
+    private static final String SERVICE_ROOT = "/redfish/v1";
+
+    // The name is that of the path constant, and the snake case name is that of the method of the Routes builder that
+    // sets the component served at the path.
+    public record Route(String name, SnakeCaseName snakeCaseName, String path, PascalCaseName componentName,
+                        RustType componentType) {}
+
+    public static RoutesContext create(ModuleContext module, Collection<ComponentContext> components) {
+        Map<String, Route> routes = new TreeMap<>();
+        for (ComponentContext component : components) {
+            for (String path : component.paths) {
+                String name = getRouteName(path);
+                Route route = new Route(name, RustConfig.escapeReservedKeyword(new SnakeCaseName(name.toLowerCase())),
+                        getRoutePath(path), component.componentName(), component.rustType);
+                Route existing = routes.put(route.name(), route);
+                if (null != existing) {
+                    throw new RuntimeException("Paths " + existing.path() + " and " + route.path()
+                            + " have the same route name " + route.name());
+                }
+            }
+        }
+
+        return new RoutesContext(module, routes.values().stream().sorted(Comparator.comparing(Route::path)).toList());
+    }
+
+    // The service root is served at /redfish/v1/, as it is when the component routers are nested.
+    private static String getRoutePath(String path) {
+        if (SERVICE_ROOT.equals(path)) {
+            return SERVICE_ROOT + "/";
+        }
+        return PathService.toAxumPath(path);
+    }
+
+    // The name of the constant for the path, e.g. SYSTEMS_ID_MEMORY for /redfish/v1/Systems/{ComputerSystemId}/Memory
+    private static String getRouteName(String path) {
+        if (!path.startsWith(SERVICE_ROOT)) {
+            throw new RuntimeException("Path " + path + " is not below the service root");
+        } else if (SERVICE_ROOT.equals(path)) {
+            return "SERVICE_ROOT";
+        }
+
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.substring(SERVICE_ROOT.length() + 1).split("/")) {
+            if (segment.startsWith("{")) {
+                segments.add("ID");
+                continue;
+            }
+
+            try {
+                segments.add(CaseConversion.toSnakeCase(segment).toString().toUpperCase());
+            } catch (ICaseConvertible.CaseConversionError e) {
+                segments.add(segment.replaceAll("[^A-Za-z0-9]", "_").toUpperCase());
+            }
+        }
+        return String.join("_", segments);
+    }
+}
@@ -4,6 +4,7 @@ import com.twardyece.dmtf.RustType;
 import com.twardyece.dmtf.component.ComponentContext;
 import com.twardyece.dmtf.component.ComponentRepository;
 import com.twardyece.dmtf.component.ComponentTypeTranslationService;
+import com.twardyece.dmtf.component.IPrivilegeRegistry;
 import com.twardyece.dmtf.component.PrivilegeRegistry;
 import com.twardyece.dmtf.text.PascalCaseName;
 import io.swagger.v3.oas.models.Operation;
@@ -19,7 +20,7 @@ import java.util.Optional;
 
 public class StandardComponentMatcher implements IComponentMatcher {
 
-    private final PrivilegeRegistry privilegeRegistry;
+    private final IPrivilegeRegistry privilegeRegistry;
     private final ComponentTypeTranslationService componentTypeTranslationService;
     private final List<Pair<PathItem.HttpMethod, String>> unprotectedOperations;
     private static final ArrayList<PathItem.HttpMethod> METHODS = new ArrayList<>();
@@ -34,7 +35,7 @@ public class StandardComponentMatcher implements IComponentMatcher {
     }
 
 
-    public StandardComponentMatcher(PrivilegeRegistry privilegeRegistry,
+    public StandardComponentMatcher(IPrivilegeRegistry privilegeRegistry,
                                     ComponentTypeTranslationService componentTypeTranslationService,
                                     List<Pair<PathItem.HttpMethod, String>> unprotectedOperations) {
         this.privilegeRegistry = privilegeRegistry;
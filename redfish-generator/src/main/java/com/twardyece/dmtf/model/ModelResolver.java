@@ -10,11 +10,19 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Resolves schemas to Rust types. Types are immutable, so each distinct type is only created once: every reference to
+ * a schema shares one instance, as does every array of the same type.
+ */
 public class ModelResolver {
     private final IModelFileMapper[] mappers;
+    private final Map<String, Optional<RustType>> pathTypes = new ConcurrentHashMap<>();
+    private final Map<RustType, RustType> vecTypes = new ConcurrentHashMap<>();
     private static final Logger LOGGER = LoggerFactory.getLogger(ModelResolver.class);
     private static final PascalCaseName VEC_NAME = new PascalCaseName("Vec");
     public static final Map<String, RustType> RUST_TYPE_MAP;
@@ -45,6 +53,10 @@ public class ModelResolver {
     }
 
     public RustType resolvePath(String name) {
+        return this.pathTypes.computeIfAbsent(name, (key) -> Optional.ofNullable(this.mapPath(key))).orElse(null);
+    }
+
+    private RustType mapPath(String name) {
         for (IModelFileMapper mapper : this.mappers) {
             IModelFileMapper.ModelMatchResult module = mapper.matches(name);
             if (null != module) {
@@ -62,7 +74,8 @@ public class ModelResolver {
             return this.resolvePath(getSchemaIdentifier(schema));
         } else if ("array".equals(schema.getType())) {
             // It's an array type
-            return new RustType(null, VEC_NAME, new RustType[]{this.resolveSchema(schema.getItems())});
+            RustType itemType = this.resolveSchema(schema.getItems());
+            return this.vecTypes.computeIfAbsent(itemType, (key) -> new RustType(null, VEC_NAME, new RustType[]{key}));
         } else {
             if (!RUST_TYPE_MAP.containsKey(type)) {
                 LOGGER.warn("No mapping for type " + type);
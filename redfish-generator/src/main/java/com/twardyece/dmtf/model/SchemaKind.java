@@ -0,0 +1,35 @@
+package com.twardyece.dmtf.model;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * The kind of model that is generated for a schema. Each schema is classified once, and its kind selects the context
+ * factory that translates it. A schema may satisfy the conditions for more than one kind (e.g. an enum also has a
+ * type), so the conditions are tested in the order of the constants.
+ */
+public enum SchemaKind {
+    ENUM,
+    FREE_FORM_OBJECT,
+    STRUCT,
+    TUPLE,
+    UNION,
+    UNRECOGNIZED;
+
+    public static SchemaKind classify(Schema schema) {
+        if (null != schema.getEnum()) {
+            return ENUM;
+        }
+
+        String type = schema.getType();
+        if (null != schema.getProperties()) {
+            // An object without any properties may hold any JSON value.
+            return "object".equals(type) && schema.getProperties().isEmpty() ? FREE_FORM_OBJECT : STRUCT;
+        } else if (null != type) {
+            return TUPLE;
+        } else if (null != schema.getAnyOf()) {
+            return UNION;
+        }
+
+        return UNRECOGNIZED;
+    }
+}
@@ -1,5 +1,6 @@
 package com.twardyece.dmtf.model.context;
 
+import com.twardyece.dmtf.ModuleContext;
 import com.twardyece.dmtf.RustIdentifier;
 import com.twardyece.dmtf.RustType;
 
@@ -25,6 +26,15 @@ public class EnumContext {
                 .collect(Collectors.toList());
     }
 
+    // Name the types of the variants as they are written in the module of the model.
+    public void importTypes(ModuleContext moduleContext) {
+        for (Variant variant : this.variants) {
+            if (null != variant.type && null != variant.type.rustType) {
+                variant.type.importedType = moduleContext.getImportedName(variant.type.rustType);
+            }
+        }
+    }
+
     public Variant defaultVariant() { return this.variants.get(this.defaultVariantIndex); }
 
     public static class Variant {
@@ -44,9 +54,10 @@ public class EnumContext {
 
         public static class Type {
             RustType rustType;
+            String importedType;
 
             public Type(RustType rustType) { this.rustType = rustType; }
-            public String type() { return this.rustType.toString(); }
+            public String type() { return null != this.importedType ? this.importedType : this.rustType.toString(); }
         }
     }
 }
@@ -29,18 +29,21 @@ public class ModelContext {
     public static ModelContext forStruct(RustType rustType, StructContext structContext, String docComment) {
         ModelContext modelContext = ModelContext.generic(rustType, structContext.getDependentTypes(), docComment);
         modelContext.structContext = structContext;
+        structContext.importTypes(modelContext.moduleContext);
         return modelContext;
     }
 
     public static ModelContext forEnum(RustType rustType, EnumContext enumContext, String docComment) {
         ModelContext modelContext = ModelContext.generic(rustType, enumContext.getDependentTypes(), docComment);
         modelContext.enumContext = enumContext;
+        enumContext.importTypes(modelContext.moduleContext);
         return modelContext;
     }
 
     public static ModelContext forTuple(RustType rustType, TupleContext tupleContext, String docComment) {
         ModelContext modelContext = ModelContext.generic(rustType, tupleContext.getDependentTypes(), docComment);
         modelContext.tupleContext = tupleContext;
+        tupleContext.importTypes(modelContext.moduleContext);
         return modelContext;
     }
 
@@ -0,0 +1,170 @@
+package com.twardyece.dmtf.model.context;
+
+import com.github.mustachejava.util.HtmlEscaper;
+import com.twardyece.dmtf.ModuleContext;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Renders templates/model.mustache for a model, without the reflection that mustache.java uses to look up each value
+ * in the context. The model template is rendered once for every model, so it's by far the hottest template. The output
+ * is identical to that of the template, so the two must be kept in sync, which ModelRendererTest checks.
+ * <p>
+ * As in the template, values written with double braces are HTML-escaped, and sections for strings are skipped if the
+ * string is null or empty.
+ */
+public class ModelRenderer {
+    private ModelRenderer() {}
+
+    public static void render(Writer writer, ModelContext model) throws IOException {
+        writer.write("// Generated by redfish-codegen. Do not modify.\n\n");
+        if (null != model.moduleContext && null != model.moduleContext.imports) {
+            for (ModuleContext.Import anImport : model.moduleContext.imports) {
+                writer.write("use ");
+                writer.write(anImport.path());
+                writer.write(";\n");
+            }
+        }
+        writer.write("\n");
+
+        if (isPresent(model.docComment)) {
+            writer.write("/// ");
+            writer.write(model.docComment);
+            writer.write("\n");
+        }
+        writer.write("#[derive(Clone, Debug, serde::Deserialize, serde::Serialize)]\n");
+
+        if (null != model.structContext) {
+            renderStruct(writer, model, model.structContext);
+        }
+        if (null != model.enumContext) {
+            renderEnum(writer, model, model.enumContext);
+        }
+        if (null != model.tupleContext) {
+            writer.write("#[derive(Default)]\npub struct ");
+            escape(writer, model.name());
+            writer.write("(pub ");
+            escape(writer, model.tupleContext.type());
+            writer.write(");\n");
+        }
+
+        if (null != model.metadata) {
+            writer.write("\nimpl crate::Metadata<'static> for ");
+            escape(writer, model.name());
+            writer.write(" {\n    const JSON_SCHEMA: &'static str = \"");
+            write(writer, model.metadata.jsonSchema());
+            writer.write("\";\n}\n");
+        }
+    }
+
+    private static void renderStruct(Writer writer, ModelContext model, StructContext struct) throws IOException {
+        writer.write("#[derive(derivative::Derivative)]\n#[derivative(Default)]\npub struct ");
+        escape(writer, model.name());
+        writer.write(" {\n");
+        if (null != struct.properties) {
+            for (StructContext.Property property : struct.properties) {
+                renderDocComment(writer, property.docComment);
+                renderSerdeName(writer, property.serdeName);
+                if (property.skipDeserializing) {
+                    writer.write("    #[serde(skip_deserializing)]\n");
+                }
+                if (isPresent(property.defaultValue)) {
+                    writer.write("    #[derivative(Default(value = \"");
+                    writer.write(property.defaultValue);
+                    writer.write("\"))]\n");
+                }
+
+                if (property.optional) {
+                    writer.write("    #[serde(default, skip_serializing_if = \"Option::is_none\")]\n    pub ");
+                    escape(writer, property.name());
+                    writer.write(": Option<");
+                    write(writer, property.type());
+                    writer.write(">,\n");
+                } else {
+                    writer.write("    pub ");
+                    escape(writer, property.name());
+                    writer.write(": ");
+                    write(writer, property.type());
+                    writer.write(",\n");
+                }
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static void renderEnum(Writer writer, ModelContext model, EnumContext enumContext) throws IOException {
+        if (!enumContext.tagged) {
+            writer.write("#[serde(untagged)]\n");
+        }
+        writer.write("pub enum ");
+        escape(writer, model.name());
+        writer.write(" {\n");
+        if (null != enumContext.variants) {
+            for (EnumContext.Variant variant : enumContext.variants) {
+                renderDocComment(writer, variant.docComment);
+                renderSerdeName(writer, variant.serdeName);
+                writer.write("    ");
+                escape(writer, variant.name());
+                if (null != variant.type) {
+                    writer.write("(");
+                    escape(writer, variant.type.type());
+                    writer.write(")");
+                }
+                writer.write(",\n");
+            }
+        }
+
+        writer.write("}\n\n#[allow(clippy::derivable_impls)]\nimpl Default for ");
+        escape(writer, model.name());
+        writer.write(" {\n     fn default() -> ");
+        escape(writer, model.name());
+        writer.write(" {\n        ");
+        escape(writer, model.name());
+        writer.write("::");
+        EnumContext.Variant defaultVariant = enumContext.defaultVariant();
+        if (null != defaultVariant) {
+            escape(writer, defaultVariant.name());
+            if (null != defaultVariant.type) {
+                writer.write("(");
+                escape(writer, defaultVariant.type.type());
+                writer.write("::default())");
+            }
+        }
+        writer.write("\n     }\n}\n");
+    }
+
+    private static void renderDocComment(Writer writer, String docComment) throws IOException {
+        if (isPresent(docComment)) {
+            writer.write("    /// ");
+            writer.write(docComment);
+            writer.write("\n");
+        }
+    }
+
+    private static void renderSerdeName(Writer writer, String serdeName) throws IOException {
+        if (isPresent(serdeName)) {
+            writer.write("    #[serde(rename = \"");
+            writer.write(serdeName);
+            writer.write("\")]\n");
+        }
+    }
+
+    private static boolean isPresent(String value) {
+        return null != value && !value.isEmpty();
+    }
+
+    // {{{value}}}
+    private static void write(Writer writer, String value) throws IOException {
+        if (null != value) {
+            writer.write(value);
+        }
+    }
+
+    // {{value}}
+    private static void escape(Writer writer, String value) {
+        if (null != value) {
+            HtmlEscaper.escape(value, writer);
+        }
+    }
+}
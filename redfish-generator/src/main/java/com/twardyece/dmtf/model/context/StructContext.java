@@ -1,5 +1,6 @@
 package com.twardyece.dmtf.model.context;
 
+import com.twardyece.dmtf.ModuleContext;
 import com.twardyece.dmtf.RustType;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
@@ -20,6 +21,15 @@ public class StructContext {
                 .collect(Collectors.toList());
     }
 
+    // Name the types of the properties as they are written in the module of the model.
+    public void importTypes(ModuleContext moduleContext) {
+        for (Property property : this.properties) {
+            if (null != property.rustType) {
+                property.importedType = moduleContext.getImportedName(property.rustType);
+            }
+        }
+    }
+
     public static class Property {
         public Property(SnakeCaseName name, RustType rustType, String openapiType, boolean optional, String serdeName, String docComment) {
             this.propertyName = name;
@@ -35,7 +45,7 @@ public class StructContext {
         // Methods for accessing properties in Mustache context
         public String name() { return this.propertyName.toString(); }
         public String type() {
-            return this.rustType.toString();
+            return null != this.importedType ? this.importedType : this.rustType.toString();
         }
         public RustType getRustType() { return this.rustType; }
         public void setDefaultValue(String defaultValue) {
@@ -50,6 +60,8 @@ public class StructContext {
         private SnakeCaseName propertyName;
         // The rust type corresponding to the
         private RustType rustType;
+        // The name of the type in the module of the model
+        private String importedType;
         public final String openapiType;
         public boolean optional;
         public boolean skipDeserializing;
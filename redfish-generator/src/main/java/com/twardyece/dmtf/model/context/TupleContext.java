@@ -1,5 +1,6 @@
 package com.twardyece.dmtf.model.context;
 
+import com.twardyece.dmtf.ModuleContext;
 import com.twardyece.dmtf.RustType;
 
 import java.util.ArrayList;
@@ -7,6 +8,7 @@ import java.util.List;
 
 public class TupleContext {
     public RustType rustType;
+    private String importedType;
 
     public TupleContext(RustType rustType) { this.rustType = rustType; }
 
@@ -16,5 +18,10 @@ public class TupleContext {
         return types;
     }
 
-    public String type() { return this.rustType.toString(); }
+    // Name the type as it is written in the module of the model.
+    public void importTypes(ModuleContext moduleContext) {
+        this.importedType = moduleContext.getImportedName(this.rustType);
+    }
+
+    public String type() { return null != this.importedType ? this.importedType : this.rustType.toString(); }
 }
@@ -2,7 +2,8 @@ package com.twardyece.dmtf.model.context.factory;
 
 import com.twardyece.dmtf.RustIdentifier;
 import com.twardyece.dmtf.model.NameMapper;
-import com.twardyece.dmtf.specification.VersionedSchemaIdentifier;
+import com.twardyece.dmtf.specification.SchemaIdentifier;
+import com.twardyece.dmtf.specification.SchemaIdentifierIndex;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
@@ -11,14 +12,21 @@ import java.util.regex.Pattern;
 public class UnionVariantParser {
     private static final NameMapper mapper = new NameMapper(Pattern.compile("odata-v4_(?<model>[a-zA-Z0-9]*)"), "model");
 
-    public UnionVariantParser() {}
+    private final SchemaIdentifierIndex index;
+
+    public UnionVariantParser(SchemaIdentifierIndex index) {
+        this.index = index;
+    }
 
     public RustIdentifier getVariantName(String identifier) {
         SnakeCaseName identifierName = mapper.matchComponent(identifier);
         RustIdentifier value;
         if (null == identifierName) {
-            VersionedSchemaIdentifier versioned = new VersionedSchemaIdentifier(identifier);
-            value = new RustIdentifier(versioned.getVersion());
+            SchemaIdentifier versioned = this.index.get(identifier);
+            if (!versioned.isVersioned()) {
+                throw new RuntimeException(identifier + " is not a versioned schema");
+            }
+            value = new RustIdentifier(SnakeCaseName.of(versioned.version()));
         } else {
             value = new RustIdentifier(new PascalCaseName(identifierName));
         }
@@ -1,25 +1,30 @@
 package com.twardyece.dmtf.model.mapper;
 
-import com.twardyece.dmtf.specification.IdentifierParseError;
-import com.twardyece.dmtf.specification.UnversionedSchemaIdentifier;
+import com.twardyece.dmtf.specification.SchemaIdentifier;
+import com.twardyece.dmtf.specification.SchemaIdentifierIndex;
+import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class UnversionedModelMapper implements IModelFileMapper {
-    public UnversionedModelMapper() {}
+    private final SchemaIdentifierIndex index;
+
+    public UnversionedModelMapper(SchemaIdentifierIndex index) {
+        this.index = index;
+    }
 
     @Override
     public ModelMatchResult matches(String name) {
-        try {
-            UnversionedSchemaIdentifier identifier = new UnversionedSchemaIdentifier(name);
-            List<SnakeCaseName> module = new ArrayList<>();
-            module.add(new SnakeCaseName(identifier.getModule()));
-
-            return new ModelMatchResult(module, identifier.getModel());
-        } catch (IdentifierParseError e) {
+        SchemaIdentifier identifier = this.index.get(name);
+        if (!identifier.isUnversioned()) {
             return null;
         }
+
+        List<SnakeCaseName> module = new ArrayList<>();
+        module.add(new SnakeCaseName(PascalCaseName.of(identifier.module())));
+
+        return new ModelMatchResult(module, PascalCaseName.of(identifier.model()));
     }
 }
@@ -1,26 +1,31 @@
 package com.twardyece.dmtf.model.mapper;
 
-import com.twardyece.dmtf.specification.IdentifierParseError;
-import com.twardyece.dmtf.specification.VersionedSchemaIdentifier;
+import com.twardyece.dmtf.specification.SchemaIdentifier;
+import com.twardyece.dmtf.specification.SchemaIdentifierIndex;
+import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class VersionedModelMapper implements IModelFileMapper {
-    public VersionedModelMapper() {}
+    private final SchemaIdentifierIndex index;
+
+    public VersionedModelMapper(SchemaIdentifierIndex index) {
+        this.index = index;
+    }
 
     @Override
     public ModelMatchResult matches(String name) {
-        try {
-            VersionedSchemaIdentifier identifier = new VersionedSchemaIdentifier(name);
-            List<SnakeCaseName> module = new ArrayList<>();
-            module.add(new SnakeCaseName(identifier.getModule()));
-            module.add(identifier.getVersion());
-
-            return new ModelMatchResult(module, identifier.getModel());
-        } catch (IdentifierParseError e) {
+        SchemaIdentifier identifier = this.index.get(name);
+        if (!identifier.isVersioned()) {
             return null;
         }
+
+        List<SnakeCaseName> module = new ArrayList<>();
+        module.add(new SnakeCaseName(PascalCaseName.of(identifier.module())));
+        module.add(SnakeCaseName.of(identifier.version()));
+
+        return new ModelMatchResult(module, PascalCaseName.of(identifier.model()));
     }
 }
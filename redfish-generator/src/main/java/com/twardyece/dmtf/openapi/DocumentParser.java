@@ -21,12 +21,7 @@
 
 package com.twardyece.dmtf.openapi;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.parser.OpenAPIParser;
-import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -42,30 +37,58 @@ import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class DocumentParser {
     String path;
     OpenAPI openAPI;
     private Set<String> uniqueNames = new HashSet<>();
+    // the suffix of the last unique name returned for each prefix. Names are never released, so every earlier suffix
+    // is still taken, and probing resumes from here.
+    private Map<String, Integer> uniqueNameCounters = new HashMap<>();
+    // isModelNeeded() is only queried for a schema once its inline models have been gathered, after which the answer
+    // doesn't change. When flattening in parallel, each schema is only queried by the task that flattens it.
+    Map<Schema, Boolean> modelNeeded = Collections.synchronizedMap(new IdentityHashMap<>());
     public boolean resolveInlineEnums = false;
-    private Map<String, Schema> addedModels = new HashMap<>();
     final Logger LOGGER = LoggerFactory.getLogger(DocumentParser.class);
     private Map<String, String> inlineSchemaNameDefaults = new HashMap<>();
-    private Map<String, String> generatedSignature = new HashMap<>();
+    private Map<SchemaFingerprinter.Fingerprint, List<GeneratedSchema>> generatedSignature = new HashMap<>();
     private Map<String, String> inlineSchemaNameMapping = new HashMap<>();
     private Set<String> inlineSchemaNameMappingValues = new HashSet<>();
     public boolean skipSchemaReuse = false; // skip reusing inline schema if set to true
-    // structure mapper sorts properties alphabetically on write to ensure models are
-    // serialized consistently for lookup of existing models
-    private static ObjectMapper structureMapper;
+    // fingerprints identify structurally equal models for lookup of existing models. Inline models are only
+    // fingerprinted after their own inline models have been flattened, but models generated for the paths are
+    // flattened again as components, so their fingerprints are refreshed afterwards.
+    private final SchemaFingerprinter fingerprinter = new SchemaFingerprinter();
 
-    static {
-        structureMapper = Json.mapper().copy();
-        structureMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
-        structureMapper.writer(new DefaultPrettyPrinter());
-    }
+    private record GeneratedSchema(Schema schema, String name) {}
+
+    // number of threads used to flatten the document. Each path and component is flattened by a separate task, which
+    // only records the names and models it needs. The recorded actions are then replayed in document order, so the
+    // names chosen are the same as if the document were flattened sequentially.
+    //
+    // A task only modifies the schemas reached from its own path or component. Request bodies, parameters and
+    // responses which are reached from more than one path are flattened when the task is merged, and other
+    // components are only read through a snapshot of whether each of them is a model, which is taken before the
+    // components are flattened. Flattening a component doesn't change whether it's a model.
+    public int parallelism = 1;
+    private Set<Object> sharedPathObjects = Collections.emptySet();
+    private Map<Schema, Boolean> componentModelNeeded = Collections.emptyMap();
+    private final ThreadLocal<List<Runnable>> deferredActions = new ThreadLocal<>();
+    private final AtomicInteger deferredNameCount = new AtomicInteger();
+    private final Map<String, String> deferredNames = new ConcurrentHashMap<>();
+    private final Map<Schema, Schema> deferredRefs = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Pattern DEFERRED_NAME = Pattern.compile("\u0000([0-9]+)\u0000");
 
     public DocumentParser(String path) {
         this.inlineSchemaNameDefaults.put("arrayItemSuffix", "_inner");
@@ -78,6 +101,25 @@ public class DocumentParser {
         this.inlineSchemaNameMappingValues.add(name);
     }
 
+    public OpenAPI parse(DocumentSnapshot snapshot) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        for (Map.Entry<String, String> mapping : this.inlineSchemaNameMapping.entrySet()) {
+            parameters.put("inlineSchemaNameMapping." + mapping.getKey(), mapping.getValue());
+        }
+        parameters.put("resolveInlineEnums", String.valueOf(this.resolveInlineEnums));
+        parameters.put("skipSchemaReuse", String.valueOf(this.skipSchemaReuse));
+
+        String key = snapshot.computeKey(parameters);
+        Optional<OpenAPI> document = snapshot.load(key);
+        if (document.isPresent()) {
+            this.openAPI = document.get();
+            return this.openAPI;
+        }
+
+        snapshot.store(key, this.parse());
+        return this.openAPI;
+    }
+
     public OpenAPI parse() {
         ParseOptions parseOptions = new ParseOptions();
         parseOptions.setResolve(true);
@@ -103,7 +145,14 @@ public class DocumentParser {
         }
 
         List<String> modelNames = new ArrayList<String>(models.keySet());
-        for (String modelName : modelNames) {
+        if (parallelism > 1) {
+            componentModelNeeded = new IdentityHashMap<>();
+            for (Schema model : models.values()) {
+                componentModelNeeded.put(model, isModelNeeded(model, Collections.newSetFromMap(new IdentityHashMap<>())));
+            }
+        }
+
+        flatten(modelNames, (modelName) -> {
             Schema model = models.get(modelName);
             if (ModelUtils.isComposedSchema(model)) {
                 ComposedSchema m = (ComposedSchema) model;
@@ -114,7 +163,9 @@ public class DocumentParser {
             } else if (model instanceof Schema) {
                 gatherInlineModels(model, modelName);
             }
-        }
+            defer(() -> refreshGenerated(model));
+        });
+        componentModelNeeded = Collections.emptyMap();
     }
 
     private void flattenPaths() {
@@ -123,9 +174,13 @@ public class DocumentParser {
             return;
         }
 
-        for (Map.Entry<String, PathItem> pathsEntry : paths.entrySet()) {
+        if (parallelism > 1) {
+            sharedPathObjects = findSharedPathObjects(paths);
+        }
+
+        flatten(new ArrayList<>(paths.entrySet()), (pathsEntry) -> {
             PathItem path = pathsEntry.getValue();
-            List<Operation> operations = new ArrayList<>(path.readOperations());
+            List<Operation> operations = readOperations(path);
 
             // use path name (e.g. /foo/bar) and HTTP verb to come up with a name
             // in case operationId is not defined later in other methods
@@ -152,23 +207,187 @@ public class DocumentParser {
                 //throw new RuntimeException("No HTTP verb found/detected in the inline model resolver");
             }
 
-            // Include callback operation as well
-            for (Operation operation : path.readOperations()) {
-                Map<String, Callback> callbacks = operation.getCallbacks();
-                if (callbacks != null) {
-                    operations.addAll(callbacks.values().stream()
-                            .flatMap(callback -> callback.values().stream())
-                            .flatMap(pathItem -> pathItem.readOperations().stream())
-                            .collect(Collectors.toList()));
-                }
-            }
-
             for (Operation operation : operations) {
                 flattenRequestBody(name, operation);
                 flattenParameters(name, operation);
                 flattenResponses(name, operation);
             }
+        });
+        sharedPathObjects = Collections.emptySet();
+    }
+
+    /**
+     * Return the operations of the path, including its callback operations.
+     */
+    private List<Operation> readOperations(PathItem path) {
+        List<Operation> operations = new ArrayList<>(path.readOperations());
+
+        // Include callback operation as well
+        for (Operation operation : path.readOperations()) {
+            Map<String, Callback> callbacks = operation.getCallbacks();
+            if (callbacks != null) {
+                operations.addAll(callbacks.values().stream()
+                        .flatMap(callback -> callback.values().stream())
+                        .flatMap(pathItem -> pathItem.readOperations().stream())
+                        .collect(Collectors.toList()));
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Find the request bodies, parameters and responses which are reached from more than one path, such as those
+     * which were resolved from the components.
+     */
+    private Set<Object> findSharedPathObjects(Paths paths) {
+        Map<Object, PathItem> owners = new IdentityHashMap<>();
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PathItem path : paths.values()) {
+            for (Operation operation : readOperations(path)) {
+                List<Object> objects = new ArrayList<>();
+                RequestBody requestBody = resolveRequestBody(operation.getRequestBody());
+                if (requestBody != null) {
+                    objects.add(requestBody);
+                }
+                if (operation.getParameters() != null) {
+                    objects.addAll(operation.getParameters());
+                }
+                if (operation.getResponses() != null) {
+                    objects.addAll(operation.getResponses().values());
+                }
+
+                for (Object object : objects) {
+                    PathItem owner = owners.putIfAbsent(object, path);
+                    if (owner != null && owner != path) {
+                        shared.add(object);
+                    }
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Flatten an object reached from the path of the current task. If it's also reached from other paths, it's
+     * flattened when the task is merged instead, so that concurrent tasks never modify the same schemas.
+     */
+    private void flattenPathObject(Object object, Runnable flattener) {
+        if (sharedPathObjects.contains(object)) {
+            defer(flattener);
+        } else {
+            flattener.run();
+        }
+    }
+
+    /**
+     * Flatten each of the items, in parallel if configured to do so.
+     *
+     * @param items     the top-level paths or components to flatten
+     * @param flattener flattens a single item
+     */
+    private <T> void flatten(List<T> items, Consumer<T> flattener) {
+        if (parallelism <= 1) {
+            items.forEach(flattener);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<List<Runnable>> tasks;
+        try {
+            tasks = pool.submit(() -> items.parallelStream()
+                    .map((item) -> {
+                        List<Runnable> actions = new ArrayList<>();
+                        deferredActions.set(actions);
+                        try {
+                            flattener.accept(item);
+                        } finally {
+                            deferredActions.remove();
+                        }
+                        return actions;
+                    })
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        for (List<Runnable> actions : tasks) {
+            actions.forEach(Runnable::run);
+        }
+        deferredNames.clear();
+        deferredRefs.clear();
+    }
+
+    /**
+     * Run the action now, or when the current task is merged, if the document is being flattened in parallel.
+     */
+    private void defer(Runnable action) {
+        List<Runnable> actions = deferredActions.get();
+        if (actions == null) {
+            action.run();
+        } else {
+            actions.add(action);
+        }
+    }
+
+    /**
+     * Replace names chosen by deferred actions in the input with the names themselves.
+     */
+    private String resolveDeferredNames(String name) {
+        if (name == null || name.indexOf('\u0000') < 0) {
+            return name;
+        }
+
+        Matcher matcher = DEFERRED_NAME.matcher(name);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(deferredNames.get(matcher.group())));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    /**
+     * Create a $ref schema to the component named by the supplier. If the document is being flattened in parallel,
+     * the $ref is filled in when the current task is merged.
+     *
+     * @param model the schema that the $ref will refer to
+     * @param name  supplies the name of the referenced component
+     */
+    private Schema makeRef(Schema model, Supplier<String> name) {
+        if (deferredActions.get() == null) {
+            return new Schema().$ref(name.get());
+        }
+
+        Schema refSchema = new Schema();
+        deferredRefs.put(refSchema, model);
+        defer(() -> refSchema.set$ref(name.get()));
+        return refSchema;
+    }
+
+    private Schema getReferencedSchema(Schema schema) {
+        Schema model = deferredRefs.get(schema);
+        return model != null ? model : ModelUtils.getReferencedSchema(openAPI, schema);
+    }
+
+    /**
+     * Return the name of a generated model that is structurally equal to the input, or add the input to the components
+     * under the given name.
+     */
+    private String matchOrAddGenerated(String name, Schema model) {
+        String existing = matchGenerated(model);
+        if (existing != null) {
+            return existing;
         }
+        return addSchemas(resolveDeferredNames(name), model);
     }
 
     /**
@@ -220,17 +439,9 @@ public class DocumentParser {
                 // instead of inline.
                 String innerModelName = resolveModelName(component.getTitle(), key);
                 Schema innerModel = modelFromProperty(openAPI, component, innerModelName);
-                String existing = matchGenerated(innerModel);
-                if (existing == null) {
-                    innerModelName = addSchemas(innerModelName, innerModel);
-                    Schema schema = new Schema().$ref(innerModelName);
-                    schema.setRequired(component.getRequired());
-                    listIterator.set(schema);
-                } else {
-                    Schema schema = new Schema().$ref(existing);
-                    schema.setRequired(component.getRequired());
-                    listIterator.set(schema);
-                }
+                Schema schema = makeRef(innerModel, () -> matchOrAddGenerated(innerModelName, innerModel));
+                schema.setRequired(component.getRequired());
+                listIterator.set(schema);
             }
         }
     }
@@ -298,7 +509,6 @@ public class DocumentParser {
             return;
         }
         Map<String, Schema> propsToUpdate = new HashMap<String, Schema>();
-        Map<String, Schema> modelsToAdd = new HashMap<String, Schema>();
         for (Map.Entry<String, Schema> propertiesEntry : properties.entrySet()) {
             String key = propertiesEntry.getKey();
             Schema property = propertiesEntry.getValue();
@@ -307,18 +517,9 @@ public class DocumentParser {
                 ObjectSchema op = (ObjectSchema) property;
                 String modelName = resolveModelName(op.getTitle(), path + "_" + key);
                 Schema model = modelFromProperty(openAPI, op, modelName);
-                String existing = matchGenerated(model);
-                if (existing != null) {
-                    Schema schema = new Schema().$ref(existing);
-                    schema.setRequired(op.getRequired());
-                    propsToUpdate.put(key, schema);
-                } else {
-                    modelName = addSchemas(modelName, model);
-                    Schema schema = new Schema().$ref(modelName);
-                    schema.setRequired(op.getRequired());
-                    propsToUpdate.put(key, schema);
-                    modelsToAdd.put(modelName, model);
-                }
+                Schema schema = makeRef(model, () -> matchOrAddGenerated(modelName, model));
+                schema.setRequired(op.getRequired());
+                propsToUpdate.put(key, schema);
             } else if (property instanceof ArraySchema) {
                 ArraySchema ap = (ArraySchema) property;
                 Schema inner = ap.getItems();
@@ -328,17 +529,9 @@ public class DocumentParser {
                         flattenProperties(openAPI, op.getProperties(), path);
                         String modelName = resolveModelName(op.getTitle(), path + "_" + key);
                         Schema innerModel = modelFromProperty(openAPI, op, modelName);
-                        String existing = matchGenerated(innerModel);
-                        if (existing != null) {
-                            Schema schema = new Schema().$ref(existing);
-                            schema.setRequired(op.getRequired());
-                            ap.setItems(schema);
-                        } else {
-                            modelName = addSchemas(modelName, innerModel);
-                            Schema schema = new Schema().$ref(modelName);
-                            schema.setRequired(op.getRequired());
-                            ap.setItems(schema);
-                        }
+                        Schema schema = makeRef(innerModel, () -> matchOrAddGenerated(modelName, innerModel));
+                        schema.setRequired(op.getRequired());
+                        ap.setItems(schema);
                     }
                 }
             }
@@ -350,17 +543,9 @@ public class DocumentParser {
                         flattenProperties(openAPI, op.getProperties(), path);
                         String modelName = resolveModelName(op.getTitle(), path + "_" + key);
                         Schema innerModel = modelFromProperty(openAPI, op, modelName);
-                        String existing = matchGenerated(innerModel);
-                        if (existing != null) {
-                            Schema schema = new Schema().$ref(existing);
-                            schema.setRequired(op.getRequired());
-                            property.setAdditionalProperties(schema);
-                        } else {
-                            modelName = addSchemas(modelName, innerModel);
-                            Schema schema = new Schema().$ref(modelName);
-                            schema.setRequired(op.getRequired());
-                            property.setAdditionalProperties(schema);
-                        }
+                        Schema schema = makeRef(innerModel, () -> matchOrAddGenerated(modelName, innerModel));
+                        schema.setRequired(op.getRequired());
+                        property.setAdditionalProperties(schema);
                     }
                 }
             }
@@ -370,10 +555,6 @@ public class DocumentParser {
                 properties.put(key, propsToUpdate.get(key));
             }
         }
-        for (String key : modelsToAdd.keySet()) {
-            openAPI.getComponents().addSchemas(key, modelsToAdd.get(key));
-            this.addedModels.put(key, modelsToAdd.get(key));
-        }
     }
 
     /**
@@ -383,23 +564,22 @@ public class DocumentParser {
      * @param operation target operation
      */
     private void flattenRequestBody(String modelName, Operation operation) {
-        RequestBody requestBody = operation.getRequestBody();
+        RequestBody requestBody = resolveRequestBody(operation.getRequestBody());
         if (requestBody == null) {
             return;
         }
 
+        flattenPathObject(requestBody, () -> flattenContent(requestBody.getContent(),
+                (operation.getOperationId() == null ? modelName : operation.getOperationId()) + "_request"));
+    }
+
+    private RequestBody resolveRequestBody(RequestBody requestBody) {
         // unalias $ref
-        if (requestBody.get$ref() != null) {
+        if (requestBody != null && requestBody.get$ref() != null) {
             String ref = ModelUtils.getSimpleRef(requestBody.get$ref());
             requestBody = openAPI.getComponents().getRequestBodies().get(ref);
-
-            if (requestBody == null) {
-                return;
-            }
         }
-
-        flattenContent(requestBody.getContent(),
-                (operation.getOperationId() == null ? modelName : operation.getOperationId()) + "_request");
+        return requestBody;
     }
 
     /**
@@ -415,24 +595,28 @@ public class DocumentParser {
         }
 
         for (Parameter parameter : parameters) {
-            if (parameter.getSchema() == null) {
-                continue;
-            }
+            flattenPathObject(parameter, () -> flattenParameter(modelName, operation, parameter));
+        }
+    }
 
-            Schema parameterSchema = parameter.getSchema();
+    private void flattenParameter(String modelName, Operation operation, Parameter parameter) {
+        if (parameter.getSchema() == null) {
+            return;
+        }
 
-            if (parameterSchema == null) {
-                continue;
-            }
-            String schemaName = resolveModelName(parameterSchema.getTitle(),
-                    (operation.getOperationId() == null ? modelName : operation.getOperationId()) + "_" + parameter.getName() + "_parameter");
-            // Recursively gather/make inline models within this schema if any
-            gatherInlineModels(parameterSchema, schemaName);
-            if (isModelNeeded(parameterSchema)) {
-                // If this schema should be split into its own model, do so
-                Schema refSchema = this.makeSchemaInComponents(schemaName, parameterSchema);
-                parameter.setSchema(refSchema);
-            }
+        Schema parameterSchema = parameter.getSchema();
+
+        if (parameterSchema == null) {
+            return;
+        }
+        String schemaName = resolveModelName(parameterSchema.getTitle(),
+                (operation.getOperationId() == null ? modelName : operation.getOperationId()) + "_" + parameter.getName() + "_parameter");
+        // Recursively gather/make inline models within this schema if any
+        gatherInlineModels(parameterSchema, schemaName);
+        if (isModelNeeded(parameterSchema)) {
+            // If this schema should be split into its own model, do so
+            Schema refSchema = this.makeSchemaInComponents(schemaName, parameterSchema);
+            parameter.setSchema(refSchema);
         }
     }
 
@@ -452,8 +636,8 @@ public class DocumentParser {
             String key = responsesEntry.getKey();
             ApiResponse response = responsesEntry.getValue();
 
-            flattenContent(response.getContent(),
-                    (operation.getOperationId() == null ? modelName : operation.getOperationId()) + "_" + key + "_response");
+            flattenPathObject(response, () -> flattenContent(response.getContent(),
+                    (operation.getOperationId() == null ? modelName : operation.getOperationId()) + "_" + key + "_response"));
         }
     }
 
@@ -500,6 +684,19 @@ public class DocumentParser {
      * @return if provided the sanitized {@code title}, else the sanitized {@code key}
      */
     private String resolveModelName(String title, String modelName) {
+        List<Runnable> actions = deferredActions.get();
+        if (actions == null) {
+            return chooseModelName(title, modelName);
+        }
+
+        // The name can't be chosen until the actions of the preceding tasks have been replayed, so a placeholder is
+        // returned instead, which resolveDeferredNames() replaces.
+        String placeholder = "\u0000" + deferredNameCount.incrementAndGet() + "\u0000";
+        actions.add(() -> deferredNames.put(placeholder, chooseModelName(title, resolveDeferredNames(modelName))));
+        return placeholder;
+    }
+
+    private String chooseModelName(String title, String modelName) {
         if (title == null) {
             if (modelName == null) {
                 return uniqueName("inline_object");
@@ -528,15 +725,16 @@ public class DocumentParser {
      *
      * @param name name to be processed to make sure it's unique
      */
-    private String uniqueName(final String name) {
+    String uniqueName(final String name) {
         if (openAPI.getComponents().getSchemas() == null) { // no schema has been created
             return name;
         }
 
-        String uniqueName = name;
-        int count = 0;
+        int count = uniqueNameCounters.getOrDefault(name, 0);
+        String uniqueName = count == 0 ? name : name + "_" + count;
         while (true) {
             if (!openAPI.getComponents().getSchemas().containsKey(uniqueName) && !uniqueNames.contains(uniqueName)) {
+                uniqueNameCounters.put(name, count);
                 return uniqueName;
             }
             uniqueName = name + "_" + ++count;
@@ -553,7 +751,12 @@ public class DocumentParser {
      * @param schema target schema
      */
     private boolean isModelNeeded(Schema schema) {
-        return isModelNeeded(schema, new HashSet<>());
+        Boolean needed = modelNeeded.get(schema);
+        if (needed == null) {
+            needed = isModelNeeded(schema, Collections.newSetFromMap(new IdentityHashMap<>()));
+            modelNeeded.put(schema, needed);
+        }
+        return needed;
     }
 
     /**
@@ -566,7 +769,7 @@ public class DocumentParser {
      * @param schema         target schema
      * @param visitedSchemas Visited schemas
      */
-    private boolean isModelNeeded(Schema schema, Set<Schema> visitedSchemas) {
+    boolean isModelNeeded(Schema schema, Set<Schema> visitedSchemas) {
         if (visitedSchemas.contains(schema)) { // circular reference
             return true;
         } else {
@@ -604,7 +807,9 @@ public class DocumentParser {
             if (m.getAllOf() != null && !m.getAllOf().isEmpty()) {
                 // check to ensure at least of the allOf item is model
                 for (Schema inner : m.getAllOf()) {
-                    if (isModelNeeded(ModelUtils.getReferencedSchema(openAPI, inner), visitedSchemas)) {
+                    Schema referenced = getReferencedSchema(inner);
+                    Boolean needed = componentModelNeeded.get(referenced);
+                    if (needed != null ? needed : isModelNeeded(referenced, visitedSchemas)) {
                         return true;
                     }
                 }
@@ -802,17 +1007,17 @@ public class DocumentParser {
      * @return {@link Schema} $ref schema to new or existing schema
      */
     private Schema makeSchemaInComponents(String name, Schema schema) {
-        String existing = matchGenerated(schema);
-        Schema refSchema;
-        if (existing != null) {
-            refSchema = new Schema().$ref(existing);
-        } else {
+        Schema refSchema = makeRef(schema, () -> {
+            String existing = matchGenerated(schema);
+            if (existing != null) {
+                return existing;
+            }
+            String modelName = resolveDeferredNames(name);
             if (resolveInlineEnums && schema.getEnum() != null && schema.getEnum().size() > 0) {
-                LOGGER.warn("Model " + name + " promoted to its own schema due to resolveInlineEnums=true");
+                LOGGER.warn("Model " + modelName + " promoted to its own schema due to resolveInlineEnums=true");
             }
-            name = addSchemas(name, schema);
-            refSchema = new Schema().$ref(name);
-        }
+            return addSchemas(modelName, schema);
+        });
         this.copyVendorExtensions(schema, refSchema);
 
         return refSchema;
@@ -823,13 +1028,13 @@ public class DocumentParser {
             return null;
         }
 
-        try {
-            String json = structureMapper.writeValueAsString(model);
-            if (generatedSignature.containsKey(json)) {
-                return generatedSignature.get(json);
+        List<GeneratedSchema> candidates = generatedSignature.get(fingerprinter.fingerprint(model));
+        if (candidates != null) {
+            for (GeneratedSchema candidate : candidates) {
+                if (fingerprinter.equals(candidate.schema(), model)) {
+                    return candidate.name();
+                }
             }
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
         }
 
         return null;
@@ -875,12 +1080,33 @@ public class DocumentParser {
         }
     }
 
-    private void addGenerated(String name, Schema model) {
-        try {
-            String json = structureMapper.writeValueAsString(model);
-            generatedSignature.put(json, name);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+    /**
+     * Recompute the fingerprint of a generated model which may have been modified since it was added.
+     */
+    private void refreshGenerated(Schema model) {
+        SchemaFingerprinter.Fingerprint stale = fingerprinter.invalidate(model);
+        List<GeneratedSchema> candidates = null != stale ? generatedSignature.get(stale) : null;
+        if (candidates == null) {
+            return;
         }
+
+        for (GeneratedSchema candidate : candidates) {
+            if (candidate.schema() == model) {
+                candidates.remove(candidate);
+                if (candidates.isEmpty()) {
+                    generatedSignature.remove(stale);
+                }
+                addGenerated(candidate.name(), model);
+                return;
+            }
+        }
+    }
+
+    private void addGenerated(String name, Schema model) {
+        List<GeneratedSchema> candidates = generatedSignature.computeIfAbsent(
+                fingerprinter.fingerprint(model), (fingerprint) -> new ArrayList<>());
+        // A structurally equal model generated later replaces the name of the earlier one.
+        candidates.removeIf((candidate) -> fingerprinter.equals(candidate.schema(), model));
+        candidates.add(new GeneratedSchema(model, name));
     }
 }
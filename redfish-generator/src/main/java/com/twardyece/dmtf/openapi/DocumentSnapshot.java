@@ -0,0 +1,194 @@
+package com.twardyece.dmtf.openapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A persistent snapshot of the flattened OpenAPI document. Parsing and flattening the specification dominates the
+ * runtime of the generator, so the result is stored in a compressed file whose name is a digest of every input that
+ * could change it: the contents of the specification directory (including quilt metadata for any applied schema
+ * patches), the parser configuration, and the generator itself.
+ * <p>
+ * Each component schema is compressed separately, and the file ends with an index of their offsets, so that a loaded
+ * document only deserializes the schemas that are actually used (see {@link LazySchemaMap}). The file is laid out as:
+ * the offset of the index (8 bytes), the document without its component schemas, each of the component schemas, and
+ * the index.
+ */
+public class DocumentSnapshot {
+    private final Path specDirectory;
+    private final Path cacheDirectory;
+    private static final String FILE_EXTENSION = ".snapshot";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentSnapshot.class);
+
+    public DocumentSnapshot(Path specDirectory, Path cacheDirectory) {
+        this.specDirectory = specDirectory.toAbsolutePath().normalize();
+        this.cacheDirectory = cacheDirectory.toAbsolutePath().normalize();
+    }
+
+    public String computeKey(Map<String, String> parameters) throws IOException {
+        MessageDigest digest = newDigest();
+        update(digest, getGeneratorVersion());
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(this.specDirectory)) {
+            files = stream
+                    .filter((file) -> Files.isRegularFile(file) && !file.startsWith(this.cacheDirectory))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            update(digest, this.specDirectory.relativize(file).toString());
+            digest.update(Files.readAllBytes(file));
+        }
+
+        for (Map.Entry<String, String> parameter : new TreeMap<>(parameters).entrySet()) {
+            update(digest, parameter.getKey() + "=" + parameter.getValue());
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (byte value : digest.digest()) {
+            key.append(String.format("%02x", value));
+        }
+        return key.toString();
+    }
+
+    public Optional<OpenAPI> load(String key) {
+        Path file = this.getSnapshotFile(key);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping remains valid after the channel is closed.
+            ByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int indexOffset = (int) snapshot.getLong(0);
+            JsonNode index = readBlob(snapshot, indexOffset, snapshot.limit() - indexOffset, JsonNode.class);
+
+            JsonNode document = index.get("document");
+            OpenAPI openAPI = readBlob(snapshot, document.get(0).asInt(), document.get(1).asInt(), OpenAPI.class);
+            Map<String, LazySchemaMap.Location> schemas = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> entries = index.get("schemas").fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                schemas.put(entry.getKey(),
+                        new LazySchemaMap.Location(entry.getValue().get(0).asInt(), entry.getValue().get(1).asInt()));
+            }
+            if (null == openAPI.getComponents()) {
+                openAPI.setComponents(new Components());
+            }
+            openAPI.getComponents().setSchemas(new LazySchemaMap(snapshot, schemas));
+
+            LOGGER.info("Loaded document snapshot " + file);
+            return Optional.of(openAPI);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Discarding unreadable document snapshot " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void store(String key, OpenAPI document) throws IOException {
+        Files.createDirectories(this.cacheDirectory);
+        Path file = this.getSnapshotFile(key);
+
+        // Write to a temporary file first, so that a concurrent or interrupted run never observes a partial snapshot.
+        Path temporary = Files.createTempFile(this.cacheDirectory, key, ".tmp");
+        try (RandomAccessFile output = new RandomAccessFile(temporary.toFile(), "rw")) {
+            output.writeLong(0);
+            ObjectNode index = Json.mapper().createObjectNode();
+
+            ObjectNode tree = Json.mapper().valueToTree(document);
+            JsonNode components = tree.get("components");
+            if (null != components) {
+                ((ObjectNode) components).remove("schemas");
+            }
+            index.set("document", writeBlob(output, tree));
+
+            ObjectNode schemas = index.putObject("schemas");
+            Map<String, Schema> documentSchemas = document.getComponents() != null
+                    ? document.getComponents().getSchemas() : null;
+            if (null != documentSchemas) {
+                for (Map.Entry<String, Schema> schema : documentSchemas.entrySet()) {
+                    schemas.set(schema.getKey(), writeBlob(output, schema.getValue()));
+                }
+            }
+
+            long indexOffset = output.getFilePointer();
+            writeBlob(output, index);
+            output.seek(0);
+            output.writeLong(indexOffset);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("Stored document snapshot " + file);
+    }
+
+    // Write a compressed JSON value at the end of the file, and return its offset and length.
+    private static JsonNode writeBlob(RandomAccessFile file, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(bytes)) {
+            Json.mapper().writeValue(output, value);
+        }
+
+        long offset = file.getFilePointer();
+        file.write(bytes.toByteArray());
+        return Json.mapper().createArrayNode().add(offset).add(bytes.size());
+    }
+
+    private static <T> T readBlob(ByteBuffer snapshot, int offset, int length, Class<T> type) throws IOException {
+        ByteBuffer buffer = snapshot.slice(offset, length);
+        try (InputStream input = new GZIPInputStream(new ByteBufferBackedInputStream(buffer))) {
+            return Json.mapper().readValue(input, type);
+        }
+    }
+
+    private Path getSnapshotFile(String key) {
+        return this.cacheDirectory.resolve(key + FILE_EXTENSION);
+    }
+
+    public static String getGeneratorVersion() {
+        String version = DocumentSnapshot.class.getPackage().getImplementationVersion();
+        // SNAPSHOT builds share a version string, so the generator jar itself is also taken into account.
+        try {
+            File location = new File(DocumentSnapshot.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return version + ":" + location.length() + ":" + location.lastModified();
+        } catch (URISyntaxException | SecurityException e) {
+            return String.valueOf(version);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
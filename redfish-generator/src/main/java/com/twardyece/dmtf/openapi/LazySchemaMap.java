@@ -0,0 +1,168 @@
+package com.twardyece.dmtf.openapi;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The component schemas of a document snapshot. The snapshot stores each schema separately, and the map holds the
+ * offset of each one in the snapshot until it's first requested. Components that don't use every schema (e.g. the
+ * routing component) never pay to deserialize the rest. Iterating over the keys doesn't load any schemas, and neither
+ * does replacing or removing a schema, so put() and remove() only return the previous schema if it had been loaded.
+ * <p>
+ * The map is thread-safe. Its iterators traverse a copy of the keys taken when they're created, so the map may be
+ * modified while it's being iterated, and an entry removed in the meantime has a null value.
+ */
+public class LazySchemaMap extends AbstractMap<String, Schema> {
+    private final ByteBuffer snapshot;
+    // Values are either a Schema, or the Location of a schema that has not been loaded yet.
+    private final Map<String, Object> entries = new LinkedHashMap<>();
+
+    public record Location(int offset, int length) {}
+
+    public LazySchemaMap(ByteBuffer snapshot, Map<String, Location> index) {
+        this.snapshot = snapshot;
+        this.entries.putAll(index);
+    }
+
+    @Override
+    public Schema get(Object key) {
+        Object value;
+        synchronized (this) {
+            value = this.entries.get(key);
+        }
+        if (!(value instanceof Location location)) {
+            return (Schema) value;
+        }
+
+        // Schemas are deserialized outside the lock, so that they may be loaded in parallel. If two threads load the
+        // same schema, the first one to finish wins.
+        Schema schema = this.load(location);
+        synchronized (this) {
+            Object current = this.entries.get(key);
+            if (current == value) {
+                this.entries.put((String) key, schema);
+                return schema;
+            }
+            return current instanceof Location ? this.get(key) : (Schema) current;
+        }
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return this.entries.containsKey(key);
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public synchronized Schema put(String key, Schema value) {
+        return loaded(this.entries.put(key, value));
+    }
+
+    @Override
+    public synchronized Schema remove(Object key) {
+        return loaded(this.entries.remove(key));
+    }
+
+    @Override
+    public Set<Entry<String, Schema>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Schema>> iterator() {
+                List<String> keys;
+                synchronized (LazySchemaMap.this) {
+                    keys = new ArrayList<>(LazySchemaMap.this.entries.keySet());
+                }
+                return new Iterator<>() {
+                    private final Iterator<String> iterator = keys.iterator();
+                    private String last = null;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Schema> next() {
+                        this.last = this.iterator.next();
+                        return new LazyEntry(this.last);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (null == this.last) {
+                            throw new IllegalStateException();
+                        }
+                        LazySchemaMap.this.remove(this.last);
+                        this.last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LazySchemaMap.this.size();
+            }
+        };
+    }
+
+    private static Schema loaded(Object value) {
+        return value instanceof Schema schema ? schema : null;
+    }
+
+    private Schema load(Location location) {
+        ByteBuffer buffer = this.snapshot.slice(location.offset(), location.length());
+        try (InputStream input = new GZIPInputStream(new ByteBufferBackedInputStream(buffer))) {
+            return Json.mapper().readValue(input, Schema.class);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // An entry whose value is only loaded when it's requested.
+    private class LazyEntry implements Entry<String, Schema> {
+        private final String key;
+
+        LazyEntry(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public String getKey() {
+            return this.key;
+        }
+
+        @Override
+        public Schema getValue() {
+            return LazySchemaMap.this.get(this.key);
+        }
+
+        @Override
+        public Schema setValue(Schema value) {
+            return LazySchemaMap.this.put(this.key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry<?, ?> entry)) {
+                return false;
+            }
+            return Objects.equals(this.key, entry.getKey()) && Objects.equals(this.getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.key) ^ Objects.hashCode(this.getValue());
+        }
+    }
+}
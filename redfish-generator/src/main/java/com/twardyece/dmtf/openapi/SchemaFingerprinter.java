@@ -0,0 +1,311 @@
+package com.twardyece.dmtf.openapi;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Computes structural fingerprints of schemas. Two schemas which would serialize to the same JSON document are
+ * structurally equal, and have the same fingerprint. The fingerprint of a schema is a 128-bit hash computed from its
+ * own attributes and the fingerprints of its subschemas, which are cached, so each node in a document is only hashed
+ * once.
+ * <p>
+ * Fingerprints are cached by identity, so a schema which is modified after it has been fingerprinted must be
+ * invalidated before it is fingerprinted again.
+ */
+public class SchemaFingerprinter {
+    private final Map<Schema, Fingerprint> fingerprints = new IdentityHashMap<>();
+
+    public record Fingerprint(long high, long low) {}
+
+    public synchronized Fingerprint fingerprint(Schema schema) {
+        Fingerprint fingerprint = this.fingerprints.get(schema);
+        if (null == fingerprint) {
+            fingerprint = this.compute(schema);
+            this.fingerprints.put(schema, fingerprint);
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Discard the cached fingerprints of the schema and its subschemas.
+     *
+     * @return the discarded fingerprint of the schema, or null if it hadn't been fingerprinted
+     */
+    public synchronized Fingerprint invalidate(Schema schema) {
+        Fingerprint fingerprint = this.fingerprints.get(schema);
+        this.invalidate(schema, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return fingerprint;
+    }
+
+    private void invalidate(Schema schema, Set<Schema> visited) {
+        if (null == schema || !visited.add(schema)) {
+            return;
+        }
+
+        this.fingerprints.remove(schema);
+        this.invalidate(schema.getNot(), visited);
+        this.invalidate(schema.getItems(), visited);
+        if (null != schema.getProperties()) {
+            for (Schema property : (Collection<Schema>) schema.getProperties().values()) {
+                this.invalidate(property, visited);
+            }
+        }
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            this.invalidate((Schema) schema.getAdditionalProperties(), visited);
+        }
+        for (List<Schema> schemas : Arrays.asList(schema.getAllOf(), schema.getAnyOf(), schema.getOneOf())) {
+            if (null != schemas) {
+                for (Schema subschema : schemas) {
+                    this.invalidate(subschema, visited);
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine whether two schemas are structurally equal. This is only necessary when their fingerprints match.
+     */
+    public boolean equals(Schema first, Schema second) {
+        if (first == second) {
+            return true;
+        } else if (null == first || null == second) {
+            return false;
+        }
+
+        // Only the reference of a $ref schema is significant.
+        if (null != first.get$ref() || null != second.get$ref()) {
+            return Objects.equals(first.get$ref(), second.get$ref());
+        }
+
+        return Objects.equals(first.getType(), second.getType())
+                && Objects.equals(first.getFormat(), second.getFormat())
+                && Objects.equals(first.getTitle(), second.getTitle())
+                && Objects.equals(first.getDescription(), second.getDescription())
+                && Objects.equals(first.getDefault(), second.getDefault())
+                && Objects.equals(first.getMultipleOf(), second.getMultipleOf())
+                && Objects.equals(first.getMaximum(), second.getMaximum())
+                && Objects.equals(first.getExclusiveMaximum(), second.getExclusiveMaximum())
+                && Objects.equals(first.getMinimum(), second.getMinimum())
+                && Objects.equals(first.getExclusiveMinimum(), second.getExclusiveMinimum())
+                && Objects.equals(first.getMaxLength(), second.getMaxLength())
+                && Objects.equals(first.getMinLength(), second.getMinLength())
+                && Objects.equals(first.getPattern(), second.getPattern())
+                && Objects.equals(first.getMaxItems(), second.getMaxItems())
+                && Objects.equals(first.getMinItems(), second.getMinItems())
+                && Objects.equals(first.getUniqueItems(), second.getUniqueItems())
+                && Objects.equals(first.getMaxProperties(), second.getMaxProperties())
+                && Objects.equals(first.getMinProperties(), second.getMinProperties())
+                && Objects.equals(first.getRequired(), second.getRequired())
+                && Objects.equals(first.getEnum(), second.getEnum())
+                && Objects.equals(first.getNullable(), second.getNullable())
+                && Objects.equals(first.getDiscriminator(), second.getDiscriminator())
+                && Objects.equals(first.getReadOnly(), second.getReadOnly())
+                && Objects.equals(first.getWriteOnly(), second.getWriteOnly())
+                && hasExample(first) == hasExample(second)
+                && Objects.equals(first.getExample(), second.getExample())
+                && Objects.equals(first.getExternalDocs(), second.getExternalDocs())
+                && Objects.equals(first.getDeprecated(), second.getDeprecated())
+                && Objects.equals(first.getXml(), second.getXml())
+                && Objects.equals(first.getExtensions(), second.getExtensions())
+                && this.equals(first.getNot(), second.getNot())
+                && this.equals(first.getItems(), second.getItems())
+                && this.equals(first.getProperties(), second.getProperties())
+                && this.equalsAdditionalProperties(first.getAdditionalProperties(), second.getAdditionalProperties())
+                && this.equals(first.getAllOf(), second.getAllOf())
+                && this.equals(first.getAnyOf(), second.getAnyOf())
+                && this.equals(first.getOneOf(), second.getOneOf());
+    }
+
+    private boolean equals(List<Schema> first, List<Schema> second) {
+        if (first == second) {
+            return true;
+        } else if (null == first || null == second || first.size() != second.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < first.size(); ++i) {
+            if (!this.equals(first.get(i), second.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equals(Map<String, Schema> first, Map<String, Schema> second) {
+        if (first == second) {
+            return true;
+        } else if (null == first || null == second || first.size() != second.size()) {
+            return false;
+        }
+
+        // Properties are serialized in insertion order, so the order of the entries is significant.
+        Iterator<Map.Entry<String, Schema>> firstEntries = first.entrySet().iterator();
+        Iterator<Map.Entry<String, Schema>> secondEntries = second.entrySet().iterator();
+        while (firstEntries.hasNext()) {
+            Map.Entry<String, Schema> one = firstEntries.next();
+            Map.Entry<String, Schema> two = secondEntries.next();
+            if (!one.getKey().equals(two.getKey()) || !this.equals(one.getValue(), two.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsAdditionalProperties(Object first, Object second) {
+        if (first instanceof Schema && second instanceof Schema) {
+            return this.equals((Schema) first, (Schema) second);
+        } else {
+            return Objects.equals(first, second);
+        }
+    }
+
+    private static boolean hasExample(Schema schema) {
+        return schema.getExampleSetFlag() || null != schema.getExample();
+    }
+
+    private Fingerprint compute(Schema schema) {
+        Hasher hasher = new Hasher();
+        if (null != schema.get$ref()) {
+            hasher.putString(schema.get$ref());
+            return hasher.finish();
+        }
+
+        hasher.putString(schema.getType());
+        hasher.putString(schema.getFormat());
+        hasher.putString(schema.getTitle());
+        hasher.putString(schema.getDescription());
+        hasher.putObject(schema.getDefault());
+        hasher.putObject(schema.getMultipleOf());
+        hasher.putObject(schema.getMaximum());
+        hasher.putObject(schema.getExclusiveMaximum());
+        hasher.putObject(schema.getMinimum());
+        hasher.putObject(schema.getExclusiveMinimum());
+        hasher.putObject(schema.getMaxLength());
+        hasher.putObject(schema.getMinLength());
+        hasher.putString(schema.getPattern());
+        hasher.putObject(schema.getMaxItems());
+        hasher.putObject(schema.getMinItems());
+        hasher.putObject(schema.getUniqueItems());
+        hasher.putObject(schema.getMaxProperties());
+        hasher.putObject(schema.getMinProperties());
+        hasher.putObject(schema.getRequired());
+        hasher.putObject(schema.getEnum());
+        hasher.putObject(schema.getNullable());
+        hasher.putObject(schema.getDiscriminator());
+        hasher.putObject(schema.getReadOnly());
+        hasher.putObject(schema.getWriteOnly());
+        hasher.putObject(hasExample(schema));
+        hasher.putObject(schema.getExample());
+        hasher.putObject(schema.getExternalDocs());
+        hasher.putObject(schema.getDeprecated());
+        hasher.putObject(schema.getXml());
+        hasher.putObject(schema.getExtensions());
+        this.putSchema(hasher, schema.getNot());
+        this.putSchema(hasher, schema.getItems());
+
+        Map<String, Schema> properties = schema.getProperties();
+        if (null == properties) {
+            hasher.putNull();
+        } else {
+            hasher.putLong(properties.size());
+            for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                hasher.putString(property.getKey());
+                this.putSchema(hasher, property.getValue());
+            }
+        }
+
+        Object additionalProperties = schema.getAdditionalProperties();
+        if (additionalProperties instanceof Schema) {
+            this.putSchema(hasher, (Schema) additionalProperties);
+        } else {
+            hasher.putObject(additionalProperties);
+        }
+
+        this.putSchemas(hasher, schema.getAllOf());
+        this.putSchemas(hasher, schema.getAnyOf());
+        this.putSchemas(hasher, schema.getOneOf());
+        return hasher.finish();
+    }
+
+    private void putSchema(Hasher hasher, Schema schema) {
+        if (null == schema) {
+            hasher.putNull();
+        } else {
+            Fingerprint fingerprint = this.fingerprint(schema);
+            hasher.putLong(fingerprint.high());
+            hasher.putLong(fingerprint.low());
+        }
+    }
+
+    private void putSchemas(Hasher hasher, List<Schema> schemas) {
+        if (null == schemas) {
+            hasher.putNull();
+        } else {
+            hasher.putLong(schemas.size());
+            for (Schema schema : schemas) {
+                this.putSchema(hasher, schema);
+            }
+        }
+    }
+
+    // Accumulates two independently seeded 64-bit hashes, using the finalization step of MurmurHash3 to mix each input.
+    private static class Hasher {
+        private long high = 0x9e3779b97f4a7c15L;
+        private long low = 0xc2b2ae3d27d4eb4fL;
+        private static final long NULL = 0x5bd1e9955bd1e995L;
+
+        void putLong(long value) {
+            this.high = mix(this.high ^ value) * 31;
+            this.low = mix(this.low + Long.rotateLeft(value, 29)) * 37;
+        }
+
+        void putNull() {
+            this.putLong(NULL);
+        }
+
+        void putString(String value) {
+            if (null == value) {
+                this.putNull();
+                return;
+            }
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.putLong(bytes.length);
+            long word = 0;
+            for (int i = 0; i < bytes.length; ++i) {
+                word = (word << 8) | (bytes[i] & 0xff);
+                if (7 == i % 8) {
+                    this.putLong(word);
+                    word = 0;
+                }
+            }
+            this.putLong(word);
+        }
+
+        void putObject(Object value) {
+            if (null == value) {
+                this.putNull();
+            } else if (value instanceof String) {
+                this.putString((String) value);
+            } else {
+                this.putLong(value.hashCode());
+            }
+        }
+
+        Fingerprint finish() {
+            return new Fingerprint(mix(this.high), mix(this.low ^ this.high));
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb93fe53a87cdL;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
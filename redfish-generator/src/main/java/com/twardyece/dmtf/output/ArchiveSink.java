@@ -0,0 +1,143 @@
+package com.twardyece.dmtf.output;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the files of a crate into a single .tar or .zip archive, which is much cheaper than writing thousands of
+ * files on slow filesystems. Files are kept in memory until the sink is completed, and are then written to the archive
+ * in order of their paths, so the archive doesn't depend on the order in which the files were generated. The archive
+ * is written to a temporary file first, so an existing archive is only replaced once the new one is whole, and not at
+ * all if generation fails.
+ */
+public class ArchiveSink extends MemorySink {
+    private final Path archive;
+    private final Format format;
+    private static final int TAR_BLOCK_SIZE = 512;
+
+    public enum Format {
+        TAR(".tar"),
+        ZIP(".zip");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    public ArchiveSink(Path archive, Format format) {
+        super(archive.toString());
+        this.archive = archive;
+        this.format = format;
+    }
+
+    // The format of the archive at the path, if its extension is that of a supported archive format
+    public static Format getFormat(Path path) {
+        for (Format format : Format.values()) {
+            if (path.getFileName().toString().endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void complete() throws IOException {
+        Path parent = this.archive.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        Path temporary = Files.createTempFile(parent, this.archive.getFileName().toString(), ".tmp");
+        try {
+            long modificationTime = System.currentTimeMillis();
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                switch (this.format) {
+                    case TAR -> writeTar(output, modificationTime);
+                    case ZIP -> writeZip(output, modificationTime);
+                }
+            }
+            Files.move(temporary, this.archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void writeZip(OutputStream output, long modificationTime) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output);
+        for (Map.Entry<Path, byte[]> file : this.getFiles().entrySet()) {
+            ZipEntry entry = new ZipEntry(getEntryName(file.getKey()));
+            entry.setTime(modificationTime);
+            zip.putNextEntry(entry);
+            zip.write(file.getValue());
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    // Each file is written as a ustar header, followed by its contents padded to a whole number of blocks. The archive
+    // ends with two empty blocks.
+    private void writeTar(OutputStream output, long modificationTime) throws IOException {
+        for (Map.Entry<Path, byte[]> file : this.getFiles().entrySet()) {
+            byte[] contents = file.getValue();
+            output.write(makeTarHeader(getEntryName(file.getKey()), contents.length, modificationTime / 1000));
+            output.write(contents);
+            int padding = (TAR_BLOCK_SIZE - contents.length % TAR_BLOCK_SIZE) % TAR_BLOCK_SIZE;
+            output.write(new byte[padding]);
+        }
+        output.write(new byte[2 * TAR_BLOCK_SIZE]);
+    }
+
+    private static byte[] makeTarHeader(String name, long size, long modificationTime) {
+        byte[] header = new byte[TAR_BLOCK_SIZE];
+        // Names longer than 100 characters are split into a prefix and a name at a directory separator.
+        String prefix = "";
+        if (name.length() > 100) {
+            int separator = name.lastIndexOf('/', 155);
+            if (-1 == separator || name.length() - separator - 1 > 100) {
+                throw new RuntimeException("Path is too long to be stored in a tar archive: " + name);
+            }
+            prefix = name.substring(0, separator);
+            name = name.substring(separator + 1);
+        }
+
+        putString(header, 0, name);
+        putString(header, 100, "0000644");
+        putString(header, 108, "0000000");
+        putString(header, 116, "0000000");
+        putString(header, 124, String.format("%011o", size));
+        putString(header, 136, String.format("%011o", modificationTime));
+        header[156] = '0';
+        putString(header, 257, "ustar");
+        putString(header, 263, "00");
+        putString(header, 345, prefix);
+
+        // The checksum is computed with the checksum field itself filled with spaces.
+        for (int i = 148; i < 156; ++i) {
+            header[i] = ' ';
+        }
+        int checksum = 0;
+        for (byte value : header) {
+            checksum += value & 0xff;
+        }
+        putString(header, 148, String.format("%06o", checksum));
+        header[154] = 0;
+        return header;
+    }
+
+    private static void putString(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+
+    private static String getEntryName(Path path) {
+        return path.toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,97 @@
+package com.twardyece.dmtf.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the files of a crate into a directory. Each file is written with a single write to a channel, which is
+ * closed immediately, and each directory is only created once.
+ */
+public class FileSystemSink implements IOutputSink {
+    private final Path root;
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    public FileSystemSink(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public Optional<byte[]> read(Path path) throws IOException {
+        try {
+            return Optional.of(Files.readAllBytes(this.root.resolve(path)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public long size(Path path) throws IOException {
+        Path file = this.root.resolve(path);
+        return Files.isRegularFile(file) ? Files.size(file) : -1;
+    }
+
+    @Override
+    public void write(Path path, byte[] contents) throws IOException {
+        Path file = this.root.resolve(path);
+        Path parent = file.getParent();
+        if (null != parent && !this.directories.contains(parent)) {
+            Files.createDirectories(parent);
+            this.directories.add(parent);
+        }
+
+        try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    @Override
+    public void delete(Path path) throws IOException {
+        Files.deleteIfExists(this.root.resolve(path));
+        for (Path parent = path.getParent(); null != parent; parent = parent.getParent()) {
+            Path directory = this.root.resolve(parent);
+            try (Stream<Path> entries = Files.list(directory)) {
+                if (entries.findAny().isPresent()) {
+                    break;
+                }
+            }
+            Files.delete(directory);
+            this.directories.remove(directory);
+        }
+    }
+
+    @Override
+    public List<Path> list(Path directory) throws IOException {
+        Path start = this.root.resolve(directory);
+        if (!Files.isDirectory(start)) {
+            return List.of();
+        }
+
+        try (Stream<Path> stream = Files.walk(start)) {
+            return stream.filter(Files::isRegularFile)
+                    .map(this.root::relativize)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public String toString() { return this.root.toString(); }
+}
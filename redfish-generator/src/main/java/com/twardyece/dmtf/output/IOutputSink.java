@@ -0,0 +1,31 @@
+package com.twardyece.dmtf.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The destination of the files of a generated crate. Paths are relative to the root of the crate. Files may be written
+ * from several threads at once, and are only guaranteed to be complete once the sink is closed.
+ */
+public interface IOutputSink extends Closeable {
+    // The contents of the file, if it exists
+    Optional<byte[]> read(Path path) throws IOException;
+
+    // The size of the file, or -1 if it doesn't exist
+    long size(Path path) throws IOException;
+
+    void write(Path path, byte[] contents) throws IOException;
+
+    // Delete the file, and any of its parent directories that are left empty
+    void delete(Path path) throws IOException;
+
+    // The files within the directory, recursively
+    List<Path> list(Path directory) throws IOException;
+
+    // Called once every file of the crate has been generated, before the sink is closed. A sink that is closed without
+    // being completed, because generation failed, must not replace the output of a previous run with partial output.
+    default void complete() throws IOException {}
+}
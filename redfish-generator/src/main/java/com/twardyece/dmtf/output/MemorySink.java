@@ -0,0 +1,65 @@
+package com.twardyece.dmtf.output;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the files of a crate in memory, e.g. for a dry run. Nothing is written to the filesystem.
+ */
+public class MemorySink implements IOutputSink {
+    private final String name;
+    private final NavigableMap<Path, byte[]> files = new ConcurrentSkipListMap<>();
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemorySink.class);
+
+    public MemorySink(String name) {
+        this.name = name;
+    }
+
+    // The files written to the sink, in order of their paths
+    public SortedMap<Path, byte[]> getFiles() { return Collections.unmodifiableSortedMap(this.files); }
+
+    @Override
+    public Optional<byte[]> read(Path path) {
+        return Optional.ofNullable(this.files.get(path.normalize()));
+    }
+
+    @Override
+    public long size(Path path) {
+        byte[] contents = this.files.get(path.normalize());
+        return null != contents ? contents.length : -1;
+    }
+
+    @Override
+    public void write(Path path, byte[] contents) {
+        this.files.put(path.normalize(), contents);
+    }
+
+    @Override
+    public void delete(Path path) {
+        this.files.remove(path.normalize());
+    }
+
+    @Override
+    public List<Path> list(Path directory) {
+        Path start = directory.normalize();
+        return this.files.keySet().stream().filter((path) -> path.startsWith(start)).collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() throws IOException {
+        long size = 0;
+        for (byte[] contents : this.files.values()) {
+            size += contents.length;
+        }
+        LOGGER.info(this.name + ": " + this.files.size() + " files, " + size + " bytes");
+    }
+
+    @Override
+    public String toString() { return this.name; }
+}
@@ -0,0 +1,19 @@
+package com.twardyece.dmtf.policies;
+
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.context.ModelContext;
+
+import java.util.Map;
+
+public interface IPerModelGenerationPolicy extends IModelGenerationPolicy {
+    // A policy that only reads and modifies one model at a time. The ModelGenerationPipeline applies consecutive
+    // per-model policies to each model in a single traversal, and may apply them to several models concurrently.
+    void apply(String name, ModelContext model);
+
+    @Override
+    default void apply(Map<String, ModuleFile<ModelContext>> models) {
+        for (Map.Entry<String, ModuleFile<ModelContext>> entry : models.entrySet()) {
+            this.apply(entry.getKey(), entry.getValue().getContext());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.twardyece.dmtf.policies;
+
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.context.ModelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies model generation policies in order. Runs of consecutive per-model policies are fused into one parallel
+ * traversal of the models, in which each model has every policy of the run applied to it in order. Global policies
+ * see the effects of every policy before them, and are applied alone.
+ */
+public class ModelGenerationPipeline {
+    private final List<List<IModelGenerationPolicy>> stages;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelGenerationPipeline.class);
+
+    public ModelGenerationPipeline(IModelGenerationPolicy[] policies) {
+        this.stages = new ArrayList<>();
+        List<IModelGenerationPolicy> perModelPolicies = null;
+        for (IModelGenerationPolicy policy : policies) {
+            if (policy instanceof IPerModelGenerationPolicy) {
+                if (null == perModelPolicies) {
+                    perModelPolicies = new ArrayList<>();
+                    this.stages.add(perModelPolicies);
+                }
+                perModelPolicies.add(policy);
+            } else {
+                perModelPolicies = null;
+                this.stages.add(List.of(policy));
+            }
+        }
+    }
+
+    public void apply(Map<String, ModuleFile<ModelContext>> models) {
+        for (List<IModelGenerationPolicy> stage : this.stages) {
+            if (stage.get(0) instanceof IPerModelGenerationPolicy) {
+                this.applyPerModel(stage, models);
+            } else {
+                IModelGenerationPolicy policy = stage.get(0);
+                long start = System.nanoTime();
+                policy.apply(models);
+                report(policy, models.size(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void applyPerModel(List<IModelGenerationPolicy> policies, Map<String, ModuleFile<ModelContext>> models) {
+        // The time spent in each policy is summed over all threads.
+        LongAdder[] durations = new LongAdder[policies.size()];
+        for (int i = 0; i < durations.length; ++i) {
+            durations[i] = new LongAdder();
+        }
+
+        models.entrySet().parallelStream().forEach((entry) -> {
+            for (int i = 0; i < policies.size(); ++i) {
+                long start = System.nanoTime();
+                ((IPerModelGenerationPolicy) policies.get(i)).apply(entry.getKey(), entry.getValue().getContext());
+                durations[i].add(System.nanoTime() - start);
+            }
+        });
+
+        for (int i = 0; i < policies.size(); ++i) {
+            report(policies.get(i), models.size(), durations[i].sum());
+        }
+    }
+
+    private static void report(IModelGenerationPolicy policy, int modelCount, long nanoseconds) {
+        LOGGER.info("Applied " + policy.getClass().getSimpleName() + " to " + modelCount + " models in "
+                + nanoseconds / 1000000 + "ms");
+    }
+}
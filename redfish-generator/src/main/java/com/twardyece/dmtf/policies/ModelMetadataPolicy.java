@@ -1,14 +1,12 @@
 package com.twardyece.dmtf.policies;
 
-import com.twardyece.dmtf.ModuleFile;
 import com.twardyece.dmtf.specification.JsonSchemaIdentifier;
 import com.twardyece.dmtf.model.context.Metadata;
 import com.twardyece.dmtf.model.context.ModelContext;
 
-import java.util.Map;
 import java.util.Optional;
 
-public class ModelMetadataPolicy implements IModelGenerationPolicy {
+public class ModelMetadataPolicy implements IPerModelGenerationPolicy {
     private final JsonSchemaIdentifier jsonSchemaIdentifier;
 
     public ModelMetadataPolicy(JsonSchemaIdentifier jsonSchemaIdentifier) {
@@ -16,13 +14,11 @@ public class ModelMetadataPolicy implements IModelGenerationPolicy {
     }
 
     @Override
-    public void apply(Map<String, ModuleFile<ModelContext>> models) {
-        for (Map.Entry<String, ModuleFile<ModelContext>> entry : models.entrySet()) {
-            Optional<String> jsonSchemaIdentifier = this.jsonSchemaIdentifier.identify(entry.getKey());
-            if (jsonSchemaIdentifier.isEmpty()) {
-                throw new RuntimeException("No matching json-schema file for identifier " + entry.getKey());
-            }
-            entry.getValue().getContext().metadata = new Metadata(jsonSchemaIdentifier.get());
+    public void apply(String name, ModelContext model) {
+        Optional<String> jsonSchemaIdentifier = this.jsonSchemaIdentifier.identify(name);
+        if (jsonSchemaIdentifier.isEmpty()) {
+            throw new RuntimeException("No matching json-schema file for identifier " + name);
         }
+        model.metadata = new Metadata(jsonSchemaIdentifier.get());
     }
 }
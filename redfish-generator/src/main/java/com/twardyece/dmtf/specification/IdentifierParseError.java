@@ -1,7 +0,0 @@
-package com.twardyece.dmtf.specification;
-
-public class IdentifierParseError extends RuntimeException {
-    public IdentifierParseError(String message) {
-        super(message);
-    }
-}
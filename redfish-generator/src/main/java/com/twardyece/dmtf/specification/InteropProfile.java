@@ -0,0 +1,172 @@
+package com.twardyece.dmtf.specification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The set of resources and registries implemented by a service. This is read either from a Redfish Interop Profile
+ * (only the "Resources" and "Registries" of the profile itself are used, not those of any required profiles), or from
+ * a plain list of resource and registry names, one per line.
+ * <p>
+ * Applying the profile to a document removes every path that doesn't serve one of the resources, other than the
+ * ancestors of those that do, and every schema that isn't reachable from the remaining paths.
+ */
+public class InteropProfile {
+    private final Set<String> resources;
+    private final Set<String> registries;
+    private static final String SCHEMA_REFERENCE_PREFIX = "#/components/schemas/";
+    // These paths are always routed, because the service root and the OData documents are required by the protocol.
+    private static final List<String> REQUIRED_PATHS = List.of("/redfish/v1", "/redfish/v1/odata", "/redfish/v1/$metadata");
+    private static final String REQUIRED_REGISTRY = "Base";
+    private static final Logger LOGGER = LoggerFactory.getLogger(InteropProfile.class);
+
+    public InteropProfile(Set<String> resources, Set<String> registries) {
+        this.resources = resources;
+        this.registries = registries;
+    }
+
+    public static InteropProfile load(Path file) throws IOException {
+        String contents = Files.readString(file);
+        Set<String> resources = new HashSet<>();
+        Set<String> registries = new HashSet<>();
+        registries.add(REQUIRED_REGISTRY);
+
+        JSONObject profile = null;
+        try {
+            profile = new JSONObject(contents);
+        } catch (JSONException ignored) {
+        }
+
+        if (null != profile) {
+            if (profile.has("Resources")) {
+                resources.addAll(profile.getJSONObject("Resources").keySet());
+            }
+            if (profile.has("Registries")) {
+                registries.addAll(profile.getJSONObject("Registries").keySet());
+            }
+        } else {
+            // A plain list doesn't distinguish registries from resources, so every name is treated as both.
+            for (String line : contents.split("\n")) {
+                String name = line.strip();
+                if (!name.isEmpty() && !name.startsWith("#")) {
+                    resources.add(name);
+                    registries.add(name);
+                }
+            }
+        }
+
+        return new InteropProfile(resources, registries);
+    }
+
+    public boolean includesRegistry(String name) {
+        return this.registries.contains(name);
+    }
+
+    /**
+     * Remove the paths and schemas that are not required to implement the profile.
+     *
+     * @param document        the flattened document
+     * @param requiredSchemas names of schemas that must be kept, even if no remaining path refers to them
+     */
+    public void apply(OpenAPI document, Collection<String> requiredSchemas) {
+        Map<String, PathItem> paths = document.getPaths();
+        // Each path is checked for every path beneath it, so its references are only collected once.
+        Map<String, Set<String>> pathReferences = new HashMap<>();
+        for (Map.Entry<String, PathItem> path : paths.entrySet()) {
+            pathReferences.put(path.getKey(), getReferences(path.getValue()));
+        }
+
+        Set<String> keptPaths = new HashSet<>(REQUIRED_PATHS);
+        for (Map.Entry<String, PathItem> path : paths.entrySet()) {
+            if (this.servesResource(pathReferences, path.getKey())) {
+                // Keep the ancestors of the path, too, so that the resource remains reachable.
+                for (String uri = path.getKey(); !uri.isEmpty(); uri = uri.substring(0, uri.lastIndexOf('/'))) {
+                    keptPaths.add(uri);
+                }
+            }
+        }
+
+        Paths filteredPaths = new Paths();
+        Deque<String> unvisited = new ArrayDeque<>(requiredSchemas);
+        for (Map.Entry<String, PathItem> path : paths.entrySet()) {
+            if (keptPaths.contains(path.getKey())) {
+                filteredPaths.addPathItem(path.getKey(), path.getValue());
+                unvisited.addAll(pathReferences.get(path.getKey()));
+            }
+        }
+
+        // Compute the transitive closure of the schemas referenced by the remaining paths.
+        Map<String, Schema> schemas = document.getComponents().getSchemas();
+        Set<String> keptSchemas = new HashSet<>();
+        while (!unvisited.isEmpty()) {
+            String name = unvisited.pop();
+            if (keptSchemas.add(name) && schemas.containsKey(name)) {
+                unvisited.addAll(getReferences(schemas.get(name)));
+            }
+        }
+
+        Map<String, Schema> filteredSchemas = new LinkedHashMap<>();
+        for (String name : schemas.keySet()) {
+            if (keptSchemas.contains(name)) {
+                filteredSchemas.put(name, schemas.get(name));
+            }
+        }
+
+        LOGGER.info("Interop profile keeps " + filteredPaths.size() + " of " + paths.size() + " paths and "
+                + filteredSchemas.size() + " of " + schemas.size() + " schemas");
+        document.setPaths(filteredPaths);
+        document.getComponents().setSchemas(filteredSchemas);
+    }
+
+    // A path serves a resource if one of its operations refers to a schema in the namespace of the resource, or of a
+    // collection of the resource. Paths that don't refer to any schema (e.g. some actions) belong to their parent.
+    private boolean servesResource(Map<String, Set<String>> pathReferences, String uri) {
+        for (; !uri.isEmpty(); uri = uri.substring(0, uri.lastIndexOf('/'))) {
+            Set<String> references = pathReferences.get(uri);
+            if (null == references || references.isEmpty()) {
+                continue;
+            }
+
+            for (String reference : references) {
+                String namespace = reference.split("_", 2)[0];
+                if (this.resources.contains(namespace) || (namespace.endsWith("Collection")
+                        && this.resources.contains(namespace.substring(0, namespace.length() - "Collection".length())))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return false;
+    }
+
+    // The names of the component schemas referred to anywhere within the value.
+    private static Set<String> getReferences(Object value) {
+        Set<String> references = new LinkedHashSet<>();
+        Deque<JsonNode> unvisited = new ArrayDeque<>();
+        unvisited.add(Json.mapper().valueToTree(value));
+        while (!unvisited.isEmpty()) {
+            JsonNode node = unvisited.pop();
+            JsonNode reference = node.get("$ref");
+            if (null != reference && reference.isTextual() && reference.asText().startsWith(SCHEMA_REFERENCE_PREFIX)) {
+                references.add(reference.asText().substring(SCHEMA_REFERENCE_PREFIX.length()));
+            }
+            node.forEach(unvisited::add);
+        }
+
+        return references;
+    }
+}
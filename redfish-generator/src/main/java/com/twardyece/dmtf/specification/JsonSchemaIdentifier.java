@@ -1,12 +1,18 @@
 package com.twardyece.dmtf.specification;
 
+import com.twardyece.dmtf.text.ICaseConvertible;
+import com.twardyece.dmtf.text.PascalCaseName;
+import com.twardyece.dmtf.text.SnakeCaseName;
+
 import java.util.Optional;
 
 public class JsonSchemaIdentifier {
     private final JsonSchemaMapper[] schemaMappers;
+    private final SchemaIdentifierIndex index;
 
-    public JsonSchemaIdentifier(JsonSchemaMapper[] schemaMappers) {
+    public JsonSchemaIdentifier(JsonSchemaMapper[] schemaMappers, SchemaIdentifierIndex index) {
         this.schemaMappers = schemaMappers;
+        this.index = index;
     }
 
     public Optional<String> identify(String identifier) {
@@ -17,12 +23,18 @@ public class JsonSchemaIdentifier {
             }
         }
 
+        SchemaIdentifier schema = this.index.get(identifier);
         try {
-            VersionedSchemaIdentifier versioned = new VersionedSchemaIdentifier(identifier);
-            return Optional.of(versioned.getModule() + "." + versioned.getVersion() + ".json");
-        } catch (IdentifierParseError e) {
-            UnversionedSchemaIdentifier unversioned = new UnversionedSchemaIdentifier(identifier);
-            return Optional.of(unversioned.getModule() + ".json");
+            return switch (schema.kind()) {
+                case VERSIONED -> Optional.of(PascalCaseName.of(schema.module()) + "."
+                        + SnakeCaseName.of(schema.version()) + ".json");
+                case UNVERSIONED -> Optional.of(PascalCaseName.of(schema.module()) + ".json");
+                case UNRECOGNIZED -> throw new RuntimeException("No JSON Schema file is known for schema " + identifier
+                        + ", which is named neither like Module_vX_Y_Z_Model nor like Module_Model");
+            };
+        } catch (ICaseConvertible.CaseConversionError e) {
+            throw new RuntimeException("No JSON Schema file is known for schema " + identifier + ": " + e.getMessage(),
+                    e);
         }
     }
 }
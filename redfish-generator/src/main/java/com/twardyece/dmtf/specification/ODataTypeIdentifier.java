@@ -1,15 +1,29 @@
 package com.twardyece.dmtf.specification;
 
+import com.twardyece.dmtf.text.ICaseConvertible;
+import com.twardyece.dmtf.text.PascalCaseName;
+import com.twardyece.dmtf.text.SnakeCaseName;
+
 public class ODataTypeIdentifier {
-    public ODataTypeIdentifier() {}
+    private final SchemaIdentifierIndex index;
+
+    public ODataTypeIdentifier(SchemaIdentifierIndex index) {
+        this.index = index;
+    }
 
     public String identify(String identifier) {
+        SchemaIdentifier schema = this.index.get(identifier);
         try {
-            VersionedSchemaIdentifier versioned = new VersionedSchemaIdentifier(identifier);
-            return "#" + versioned.getModule() + "." + versioned.getVersion() + "." + versioned.getModel();
-        } catch (IdentifierParseError e) {
-            UnversionedSchemaIdentifier unversioned = new UnversionedSchemaIdentifier(identifier);
-            return "#" + unversioned.getModule() + "." + unversioned.getModel();
+            return switch (schema.kind()) {
+                case VERSIONED -> "#" + PascalCaseName.of(schema.module()) + "." + SnakeCaseName.of(schema.version())
+                        + "." + PascalCaseName.of(schema.model());
+                case UNVERSIONED -> "#" + PascalCaseName.of(schema.module()) + "." + PascalCaseName.of(schema.model());
+                case UNRECOGNIZED -> throw new RuntimeException("Cannot determine the @odata.type of schema "
+                        + identifier + ", which is named neither like Module_vX_Y_Z_Model nor like Module_Model");
+            };
+        } catch (ICaseConvertible.CaseConversionError e) {
+            throw new RuntimeException("Cannot determine the @odata.type of schema " + identifier + ": "
+                    + e.getMessage(), e);
         }
     }
 }
@@ -0,0 +1,17 @@
+package com.twardyece.dmtf.specification;
+
+/**
+ * The parts of the name of a schema in the OpenAPI document. Versioned schemas are named like
+ * ComputerSystem_v1_20_0_ComputerSystem, and unversioned schemas like Resource_Health. The version is null for
+ * unversioned schemas, and every part is null for names that are neither.
+ */
+public record SchemaIdentifier(Kind kind, String module, String version, String model) {
+    public enum Kind {
+        VERSIONED,
+        UNVERSIONED,
+        UNRECOGNIZED,
+    }
+
+    public boolean isVersioned() { return Kind.VERSIONED == this.kind; }
+    public boolean isUnversioned() { return Kind.UNVERSIONED == this.kind; }
+}
@@ -0,0 +1,77 @@
+package com.twardyece.dmtf.specification;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the names of schemas in the OpenAPI document once, so that the model mappers, identifiers and policies only
+ * need to look them up. Names that were not indexed up front are parsed the first time they're requested.
+ */
+public class SchemaIdentifierIndex {
+    private final Map<String, SchemaIdentifier> identifiers = new ConcurrentHashMap<>();
+    private final Map<String, List<Version>> versions = new ConcurrentHashMap<>();
+
+    // This regular expression identifies schemas in the OpenAPI document which are tagged with a version.
+    private static final Pattern versionedPattern = Pattern.compile("(?<module>[a-zA-z0-9]*)_(?<version>v[0-9]+_[0-9]+_[0-9]+)_(?<model>[a-zA-Z0-9]+)");
+    // This regular expression identifies models in the OpenAPI document which are not tagged with a version.
+    private static final Pattern unversionedPattern = Pattern.compile("(?<module>[a-zA-z0-9]*)_(?<model>[a-zA-Z0-9]+)");
+    private static final Pattern versionPattern = Pattern.compile("v([0-9]+)_([0-9]+)_([0-9]+)");
+
+    public SchemaIdentifierIndex() {}
+
+    /**
+     * Index the names, and record the versions of each module that they contain.
+     */
+    public synchronized void addAll(Collection<String> names) {
+        Map<String, SortedSet<Version>> moduleVersions = new HashMap<>();
+        for (Map.Entry<String, List<Version>> entry : this.versions.entrySet()) {
+            moduleVersions.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+        }
+
+        for (String name : names) {
+            SchemaIdentifier identifier = this.get(name);
+            if (identifier.isVersioned()) {
+                moduleVersions.computeIfAbsent(identifier.module(), (k) -> new TreeSet<>())
+                        .add(Version.parse(identifier.version(), versionPattern));
+            }
+        }
+
+        for (Map.Entry<String, SortedSet<Version>> entry : moduleVersions.entrySet()) {
+            this.versions.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+    }
+
+    public SchemaIdentifier get(String name) {
+        return this.identifiers.computeIfAbsent(name, SchemaIdentifierIndex::parse);
+    }
+
+    /**
+     * Get the versions of the module found in the indexed names, in ascending order.
+     */
+    public List<Version> getVersions(String module) {
+        return this.versions.getOrDefault(module, List.of());
+    }
+
+    public Optional<Version> getLatestVersion(String module) {
+        List<Version> moduleVersions = this.getVersions(module);
+        return moduleVersions.isEmpty() ? Optional.empty() : Optional.of(moduleVersions.get(moduleVersions.size() - 1));
+    }
+
+    private static SchemaIdentifier parse(String name) {
+        Matcher versioned = versionedPattern.matcher(name);
+        if (versioned.find()) {
+            return new SchemaIdentifier(SchemaIdentifier.Kind.VERSIONED, versioned.group("module"),
+                    versioned.group("version"), versioned.group("model"));
+        }
+
+        Matcher unversioned = unversionedPattern.matcher(name);
+        if (unversioned.find()) {
+            return new SchemaIdentifier(SchemaIdentifier.Kind.UNVERSIONED, unversioned.group("module"), null,
+                    unversioned.group("model"));
+        }
+
+        return new SchemaIdentifier(SchemaIdentifier.Kind.UNRECOGNIZED, null, null, null);
+    }
+}
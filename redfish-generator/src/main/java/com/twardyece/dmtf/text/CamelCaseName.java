@@ -1,25 +1,32 @@
 package com.twardyece.dmtf.text;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CamelCaseName implements ICaseConvertible, Comparable<CamelCaseName> {
-    List<IWord> words;
-    private static final Pattern camelCase = Pattern.compile("(?<prefix>^[a-z0-9]+)");
+    private final List<IWord> words;
+    private final String value;
+    private static final Map<String, CamelCaseName> INSTANCES = new ConcurrentHashMap<>();
 
     public CamelCaseName(String name) {
         // Camel Case names are just PascalCaseNames with a lowercase word prefix.
-        Matcher matcher = camelCase.matcher(name);
-        if (!matcher.find()) {
-            throw new ICaseConvertible.CaseConversionError("camelCase", name);
+        this.words = IdentifierLexer.camelCase(name).orElseThrow(() -> new CaseConversionError("camelCase", name));
+
+        StringBuilder value = new StringBuilder();
+        for (IWord word : this.words) {
+            value.append(word.capitalize());
         }
+        this.value = value.toString();
+    }
 
-        this.words = new ArrayList<>();
-        words.add(new Word(matcher.group("prefix")));
-        words.addAll(new PascalCaseName(matcher.replaceAll("")).words());
+    /**
+     * Return the canonical name parsed from the string. Names obtained this way may be compared by reference.
+     */
+    public static CamelCaseName of(String name) {
+        return INSTANCES.computeIfAbsent(name, CamelCaseName::new);
     }
 
     @Override
@@ -29,22 +36,20 @@ public class CamelCaseName implements ICaseConvertible, Comparable<CamelCaseName
 
     @Override
     public String toString() {
-        String value = "";
-        for (IWord word : this.words) {
-            value += word.capitalize();
-        }
-        return value;
+        return this.value;
     }
 
     @Override
     public int compareTo(CamelCaseName o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof CamelCaseName) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof CamelCaseName) {
+            return this.value.equals(((CamelCaseName) o).value);
         } else {
             return false;
         }
@@ -52,6 +57,6 @@ public class CamelCaseName implements ICaseConvertible, Comparable<CamelCaseName
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.value.hashCode();
     }
 }
@@ -2,30 +2,26 @@ package com.twardyece.dmtf.text;
 
 public class CaseConversion {
     public static PascalCaseName toPascalCase(String name) {
-        try {
-            return new PascalCaseName(name);
-        } catch (ICaseConvertible.CaseConversionError e) {
-            try {
-                SnakeCaseName snakeCaseName = new SnakeCaseName(name);
-                return new PascalCaseName(snakeCaseName);
-            } catch (ICaseConvertible.CaseConversionError f) {
-                CamelCaseName camelCaseName = new CamelCaseName(name);
-                return new PascalCaseName(camelCaseName);
-            }
+        if (IdentifierLexer.pascalCase(name).isPresent()) {
+            return PascalCaseName.of(name);
+        } else if (IdentifierLexer.snakeCase(name).isPresent()) {
+            return new PascalCaseName(SnakeCaseName.of(name));
+        } else if (IdentifierLexer.camelCase(name).isPresent()) {
+            return new PascalCaseName(CamelCaseName.of(name));
+        } else {
+            throw new ICaseConvertible.CaseConversionError("PascalCase", name);
         }
     }
 
     public static SnakeCaseName toSnakeCase(String name) {
-        try {
-            return new SnakeCaseName(name);
-        } catch (ICaseConvertible.CaseConversionError e) {
-            try {
-                PascalCaseName pascalCaseName = new PascalCaseName(name);
-                return new SnakeCaseName(pascalCaseName);
-            } catch (ICaseConvertible.CaseConversionError f) {
-                CamelCaseName camelCaseName = new CamelCaseName(name);
-                return new SnakeCaseName(camelCaseName);
-            }
+        if (IdentifierLexer.snakeCase(name).isPresent()) {
+            return SnakeCaseName.of(name);
+        } else if (IdentifierLexer.pascalCase(name).isPresent()) {
+            return new SnakeCaseName(PascalCaseName.of(name));
+        } else if (IdentifierLexer.camelCase(name).isPresent()) {
+            return new SnakeCaseName(CamelCaseName.of(name));
+        } else {
+            throw new ICaseConvertible.CaseConversionError("snake_case", name);
         }
     }
 }
@@ -4,6 +4,14 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * An identifier in a particular case, split into words. Names are immutable, and the rendered name is computed once,
+ * so comparing or hashing a name doesn't allocate.
+ * <p>
+ * Parsing is memoized in two places only: {@link IdentifierLexer} remembers the words of every identifier it has
+ * lexed, and the of() method of each name class returns one canonical instance per string. {@link CaseConversion}
+ * goes through of(), so it shares those instances instead of keeping its own.
+ */
 public interface ICaseConvertible {
     public Collection<? extends IWord> words();
 
@@ -0,0 +1,277 @@
+package com.twardyece.dmtf.text;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Splits identifiers into words, in a single scan of the identifier and without throwing for identifiers that are not
+ * in the requested case. The same names are converted many times during generation, so results are memoized.
+ * <p>
+ * The lexers accept exactly the identifiers that the regular expressions of the original case parsers accepted, and
+ * produce the same words. Special abbreviations (e.g. "PCIe") in PascalCase identifiers are found with an Aho-Corasick
+ * automaton, and take precedence over each other in the iteration order of {@link Abbreviation#SPECIAL_ABBREVIATIONS},
+ * as they did when the identifier was split by each abbreviation in turn.
+ */
+class IdentifierLexer {
+    private static final AbbreviationAutomaton abbreviations =
+            new AbbreviationAutomaton(new ArrayList<>(Abbreviation.SPECIAL_ABBREVIATIONS.keySet()));
+    private static final Map<String, Optional<List<IWord>>> pascalCaseWords = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<List<IWord>>> snakeCaseWords = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<List<IWord>>> camelCaseWords = new ConcurrentHashMap<>();
+
+    private IdentifierLexer() {}
+
+    static Optional<List<IWord>> pascalCase(String name) {
+        return pascalCaseWords.computeIfAbsent(name, IdentifierLexer::lexPascalCase);
+    }
+
+    static Optional<List<IWord>> snakeCase(String name) {
+        return snakeCaseWords.computeIfAbsent(name, IdentifierLexer::lexSnakeCase);
+    }
+
+    static Optional<List<IWord>> camelCase(String name) {
+        return camelCaseWords.computeIfAbsent(name, IdentifierLexer::lexCamelCase);
+    }
+
+    private static Optional<List<IWord>> lexPascalCase(String name) {
+        // Abbreviations split the identifier into segments. Every other segment is lexed as PascalCase.
+        boolean[] boundaries = abbreviations.split(name);
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i < name.length(); ++i) {
+            if (boundaries[i]) {
+                segments.add(name.substring(start, i));
+                start = i;
+            }
+        }
+        segments.add(name.substring(start));
+
+        String first = segments.get(0);
+        if (!Abbreviation.SPECIAL_ABBREVIATIONS.containsKey(first) && !Character.isUpperCase(first.charAt(0))) {
+            return Optional.empty();
+        }
+
+        List<IWord> words = new ArrayList<>();
+        for (String segment : segments) {
+            IWord abbreviation = Abbreviation.SPECIAL_ABBREVIATIONS.get(segment);
+            if (null != abbreviation) {
+                words.add(abbreviation);
+            } else {
+                lexPascalCaseSegment(words, segment);
+                if (words.isEmpty() && !segment.isEmpty()) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        return Optional.of(Collections.unmodifiableList(words));
+    }
+
+    // Equivalent to repeatedly finding ([A-Z][a-z]+)|([A-Z]+)(?=[A-Z][a-z])|([A-Z0-9]+) in the segment. Characters
+    // that don't begin a match are skipped.
+    private static void lexPascalCaseSegment(List<IWord> words, String segment) {
+        int length = segment.length();
+        int i = 0;
+        while (i < length) {
+            char c = segment.charAt(i);
+            if (isUpper(c)) {
+                if (i + 1 < length && isLower(segment.charAt(i + 1))) {
+                    int end = i + 2;
+                    while (end < length && isLower(segment.charAt(end))) {
+                        ++end;
+                    }
+                    words.add(new Word(segment.substring(i, end)));
+                    i = end;
+                    continue;
+                }
+
+                // An abbreviation followed by a capitalized word, e.g. "PCI" in "PCIDevice".
+                int end = i + 1;
+                while (end < length && isUpper(segment.charAt(end))) {
+                    ++end;
+                }
+                if (end - 1 > i && end < length && isLower(segment.charAt(end))) {
+                    words.add(new Abbreviation(segment.substring(i, end - 1)));
+                    i = end - 1;
+                    continue;
+                }
+            }
+
+            if (isUpper(c) || isDigit(c)) {
+                int end = i + 1;
+                while (end < length && (isUpper(segment.charAt(end)) || isDigit(segment.charAt(end)))) {
+                    ++end;
+                }
+                words.add(new Abbreviation(segment.substring(i, end)));
+                i = end;
+            } else {
+                ++i;
+            }
+        }
+    }
+
+    // Words are runs of [#a-z0-9], and identifiers may not contain any uppercase letters.
+    private static Optional<List<IWord>> lexSnakeCase(String name) {
+        List<IWord> words = new ArrayList<>();
+        int length = name.length();
+        int start = -1;
+        for (int i = 0; i < length; ++i) {
+            char c = name.charAt(i);
+            if (isUpper(c)) {
+                return Optional.empty();
+            }
+
+            boolean isWordCharacter = '#' == c || isLower(c) || isDigit(c);
+            if (isWordCharacter && -1 == start) {
+                start = i;
+            } else if (!isWordCharacter && -1 != start) {
+                words.add(new Word(name.substring(start, i)));
+                start = -1;
+            }
+        }
+        if (-1 != start) {
+            words.add(new Word(name.substring(start)));
+        }
+
+        if (words.isEmpty() && !name.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Collections.unmodifiableList(words));
+    }
+
+    // camelCase identifiers are PascalCase identifiers with a prefix of [a-z0-9]+.
+    private static Optional<List<IWord>> lexCamelCase(String name) {
+        int end = 0;
+        while (end < name.length() && (isLower(name.charAt(end)) || isDigit(name.charAt(end)))) {
+            ++end;
+        }
+        if (0 == end) {
+            return Optional.empty();
+        }
+
+        String prefix = name.substring(0, end);
+        return pascalCase(name.substring(end)).map((pascalCase) -> {
+            List<IWord> words = new ArrayList<>(pascalCase.size() + 1);
+            words.add(new Word(prefix));
+            words.addAll(pascalCase);
+            return Collections.unmodifiableList(words);
+        });
+    }
+
+    private static boolean isUpper(char c) {
+        return 'A' <= c && c <= 'Z';
+    }
+
+    private static boolean isLower(char c) {
+        return 'a' <= c && c <= 'z';
+    }
+
+    private static boolean isDigit(char c) {
+        return '0' <= c && c <= '9';
+    }
+
+    // Finds every occurrence of each abbreviation in a single pass over the identifier.
+    private static class AbbreviationAutomaton {
+        private final List<String> patterns;
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final List<List<Integer>> outputs = new ArrayList<>();
+        private final int[] failures;
+
+        AbbreviationAutomaton(List<String> patterns) {
+            this.patterns = patterns;
+            this.addState();
+            for (int pattern = 0; pattern < patterns.size(); ++pattern) {
+                int state = 0;
+                for (char c : patterns.get(pattern).toCharArray()) {
+                    Integer next = this.transitions.get(state).get(c);
+                    if (null == next) {
+                        next = this.addState();
+                        this.transitions.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                this.outputs.get(state).add(pattern);
+            }
+
+            // Compute the failure links breadth-first, merging the outputs of each state's failure state into its own.
+            this.failures = new int[this.transitions.size()];
+            Deque<Integer> unvisited = new ArrayDeque<>(this.transitions.get(0).values());
+            while (!unvisited.isEmpty()) {
+                int state = unvisited.pop();
+                for (Map.Entry<Character, Integer> transition : this.transitions.get(state).entrySet()) {
+                    int next = transition.getValue();
+                    this.failures[next] = 0 == state ? 0 : this.next(this.failures[state], transition.getKey());
+                    this.outputs.get(next).addAll(this.outputs.get(this.failures[next]));
+                    unvisited.add(next);
+                }
+            }
+        }
+
+        /**
+         * Choose the occurrences of abbreviations that split the identifier. The abbreviations are considered in
+         * order, and within each one, occurrences from left to right. An occurrence is chosen unless it crosses the
+         * boundary of an occurrence that was already chosen.
+         *
+         * @return whether the identifier is split before each position
+         */
+        boolean[] split(String identifier) {
+            List<List<Integer>> occurrences = new ArrayList<>(this.patterns.size());
+            for (int pattern = 0; pattern < this.patterns.size(); ++pattern) {
+                occurrences.add(null);
+            }
+
+            int state = 0;
+            for (int i = 0; i < identifier.length(); ++i) {
+                state = this.next(state, identifier.charAt(i));
+                for (int pattern : this.outputs.get(state)) {
+                    if (null == occurrences.get(pattern)) {
+                        occurrences.set(pattern, new ArrayList<>());
+                    }
+                    occurrences.get(pattern).add(i + 1 - this.patterns.get(pattern).length());
+                }
+            }
+
+            boolean[] boundaries = new boolean[identifier.length() + 1];
+            for (int pattern = 0; pattern < this.patterns.size(); ++pattern) {
+                if (null == occurrences.get(pattern)) {
+                    continue;
+                }
+
+                int length = this.patterns.get(pattern).length();
+                for (int start : occurrences.get(pattern)) {
+                    boolean crossesBoundary = false;
+                    for (int i = start + 1; i < start + length; ++i) {
+                        if (boundaries[i]) {
+                            crossesBoundary = true;
+                            break;
+                        }
+                    }
+                    if (!crossesBoundary) {
+                        boundaries[start] = true;
+                        boundaries[start + length] = true;
+                    }
+                }
+            }
+
+            return boundaries;
+        }
+
+        private int next(int state, char c) {
+            while (true) {
+                Integer next = this.transitions.get(state).get(c);
+                if (null != next) {
+                    return next;
+                } else if (0 == state) {
+                    return 0;
+                }
+                state = this.failures[state];
+            }
+        }
+
+        private int addState() {
+            this.transitions.add(new HashMap<>());
+            this.outputs.add(new ArrayList<>());
+            return this.transitions.size() - 1;
+        }
+    }
+}
@@ -2,46 +2,50 @@ package com.twardyece.dmtf.text;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName> {
-    private ArrayList<IWord> words;
-
-    private static final Pattern snakeCase = Pattern.compile("([#a-z0-9]+)");
-    private static final Pattern uppercase = Pattern.compile("[A-Z]");
+    private final List<IWord> words;
+    private final String value;
+    private static final Map<String, SnakeCaseName> INSTANCES = new ConcurrentHashMap<>();
 
     public SnakeCaseName(ICaseConvertible originalCase) {
-        this.words = new ArrayList<>();
-        this.words.addAll(originalCase.words());
+        this.words = List.copyOf(originalCase.words());
+        this.value = render(this.words);
     }
 
     public SnakeCaseName(Collection<? extends ICaseConvertible> identifiers) {
-        this.words = new ArrayList<>();
-        identifiers.stream().forEach((identifier) -> this.words.addAll(identifier.words()));
+        ArrayList<IWord> words = new ArrayList<>();
+        identifiers.forEach((identifier) -> words.addAll(identifier.words()));
+        this.words = Collections.unmodifiableList(words);
+        this.value = render(this.words);
     }
 
     public SnakeCaseName(String name) {
-        // Since our snakeCase regex will match even if the string contains uppercase characters, we have to check
-        // whether there are any first.
-        Matcher matcher = uppercase.matcher(name);
-        if (matcher.find()) {
-            throw new CaseConversionError("snake_case", name);
-        }
+        this.words = IdentifierLexer.snakeCase(name).orElseThrow(() -> new CaseConversionError("snake_case", name));
+        this.value = render(this.words);
+    }
 
-        this.words = new ArrayList<>();
-        matcher = snakeCase.matcher(name);
-        while (matcher.find()) {
-            if (null == matcher.group(1)) {
-                throw new CaseConversionError("snake_case", name);
-            }
-            this.words.add(new Word(matcher.group(1)));
-        }
+    /**
+     * Return the canonical name parsed from the string. Names obtained this way may be compared by reference.
+     */
+    public static SnakeCaseName of(String name) {
+        return INSTANCES.computeIfAbsent(name, SnakeCaseName::new);
+    }
 
-        if (this.words.size() == 0 && !"".equals(name)) {
-            throw new CaseConversionError("snake_case", name);
+    private static String render(List<IWord> words) {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < words.size(); ++i) {
+            if (0 < i) {
+                value.append('_');
+            }
+            value.append(words.get(i).toLowerCase());
         }
+        return value.toString();
     }
 
     public String toUpperCase() {
@@ -56,23 +60,20 @@ public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName
 
     @Override
     public String toString() {
-        ArrayList<String> words = new ArrayList<>();
-        for (IWord word : this.words) {
-            words.add(word.toLowerCase());
-        }
-
-        return String.join("_", words);
+        return this.value;
     }
 
     @Override
     public int compareTo(SnakeCaseName o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof SnakeCaseName) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof SnakeCaseName) {
+            return this.value.equals(((SnakeCaseName) o).value);
         } else {
             return false;
         }
@@ -80,6 +81,6 @@ public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.value.hashCode();
     }
 }
@@ -0,0 +1,61 @@
+package com.twardyece.dmtf;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.model.context.ModelRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering every model of the test spec with ModelRenderer and with the model template, which
+ * ModelRendererTest checks produce the same output. Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main ModelRendererBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelRendererBenchmark {
+    private List<ModelContext> contexts;
+    private Mustache template;
+
+    @Setup
+    public void setup() throws IOException {
+        RedfishCodegen codegen = new RedfishCodegen("src/test/resources/api", "2023.1", "src/test/resources/registry",
+                null, 1, null, false, false);
+        this.contexts = codegen.buildModels().values().stream().map(ModuleFile::getContext).toList();
+        this.template = new DefaultMustacheFactory().compile("templates/model.mustache");
+    }
+
+    @Benchmark
+    public int renderer() throws IOException {
+        int length = 0;
+        for (ModelContext context : this.contexts) {
+            StringWriter writer = new StringWriter();
+            ModelRenderer.render(writer, context);
+            length += writer.getBuffer().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int template() {
+        int length = 0;
+        for (ModelContext context : this.contexts) {
+            StringWriter writer = new StringWriter();
+            this.template.execute(writer, context);
+            length += writer.getBuffer().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,33 @@
+package com.twardyece.dmtf;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.model.context.ModelRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ModelRenderer must render every model exactly as templates/model.mustache does.
+public class ModelRendererTest {
+    @Test
+    public void rendererMatchesTemplate() throws IOException {
+        RedfishCodegen codegen = new RedfishCodegen("src/test/resources/api", "2023.1", "src/test/resources/registry",
+                null, 1, null, false, false);
+        Map<String, ModuleFile<ModelContext>> models = codegen.buildModels();
+        assertFalse(models.isEmpty());
+
+        Mustache template = new DefaultMustacheFactory().compile("templates/model.mustache");
+        for (Map.Entry<String, ModuleFile<ModelContext>> model : models.entrySet()) {
+            StringWriter expected = new StringWriter();
+            template.execute(expected, model.getValue().getContext());
+            StringWriter actual = new StringWriter();
+            ModelRenderer.render(actual, model.getValue().getContext());
+            assertEquals(expected.toString(), actual.toString(), model.getKey());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.twardyece.dmtf;
+
+import com.twardyece.dmtf.component.IPrivilegeRegistry;
+import com.twardyece.dmtf.component.PrivilegeRegistry;
+import com.twardyece.dmtf.component.ScanningPrivilegeRegistry;
+import com.twardyece.dmtf.output.MemorySink;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Times the generation of the routing crate, into memory, with the indexed privilege registry and with
+ * {@link ScanningPrivilegeRegistry}, which scans the registry on every lookup as it did before it was indexed. A new
+ * registry is loaded for every run, as it is for every run of the generator, so the indexed registry's cache of
+ * parsed privileges starts empty. Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main RoutingBenchmark \
+ *     [-p specDirectory=... -p registryDirectory=...]
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-DmaxYamlCodePoints=6291456"})
+public class RoutingBenchmark {
+    private static final CratePath PRIVILEGE_PATH = CratePath.parse("redfish_core::privilege");
+
+    @Param({"src/test/resources/api"})
+    public String specDirectory;
+
+    @Param({"src/test/resources/registry"})
+    public String registryDirectory;
+
+    private RedfishCodegen codegen;
+    private Path privilegeRegistry;
+
+    @Setup
+    public void setup() throws IOException, URISyntaxException {
+        this.codegen = new RedfishCodegen(this.specDirectory, "2023.1", this.registryDirectory, null, 1, null, false,
+                false);
+        try (Stream<Path> files = Files.list(Path.of(this.registryDirectory))) {
+            this.privilegeRegistry = files
+                    .filter((file) -> file.getFileName().toString().endsWith("_PrivilegeRegistry.json"))
+                    .findFirst()
+                    .orElseThrow(() -> new IOException("No privilege registry in " + this.registryDirectory));
+        }
+
+        // Both registries must generate the same crate, or the comparison is meaningless.
+        SortedMap<Path, byte[]> indexed = this.generateRouting(new PrivilegeRegistry(this.privilegeRegistry,
+                PRIVILEGE_PATH, false));
+        SortedMap<Path, byte[]> scanning = this.generateRouting(new ScanningPrivilegeRegistry(this.privilegeRegistry,
+                PRIVILEGE_PATH));
+        if (!indexed.keySet().equals(scanning.keySet()) || indexed.entrySet().stream()
+                .anyMatch((file) -> !Arrays.equals(file.getValue(), scanning.get(file.getKey())))) {
+            throw new IllegalStateException("The registries generate different routing crates");
+        }
+    }
+
+    private SortedMap<Path, byte[]> generateRouting(IPrivilegeRegistry privilegeRegistry)
+            throws IOException, URISyntaxException {
+        this.codegen.setPrivilegeRegistry(privilegeRegistry);
+        MemorySink sink = new MemorySink("routing");
+        this.codegen.generate(Map.of("routing", sink), false, 1);
+        return sink.getFiles();
+    }
+
+    @Benchmark
+    public SortedMap<Path, byte[]> indexed() throws IOException, URISyntaxException {
+        return this.generateRouting(new PrivilegeRegistry(this.privilegeRegistry, PRIVILEGE_PATH, false));
+    }
+
+    @Benchmark
+    public SortedMap<Path, byte[]> scanning() throws IOException, URISyntaxException {
+        return this.generateRouting(new ScanningPrivilegeRegistry(this.privilegeRegistry, PRIVILEGE_PATH));
+    }
+}
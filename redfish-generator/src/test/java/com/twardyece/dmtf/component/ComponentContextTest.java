@@ -0,0 +1,32 @@
+package com.twardyece.dmtf.component;
+
+import com.twardyece.dmtf.CratePath;
+import com.twardyece.dmtf.RustType;
+import com.twardyece.dmtf.text.PascalCaseName;
+import io.swagger.v3.oas.models.PathItem;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentContextTest {
+    private static ComponentContext makeComponent() {
+        return new ComponentContext(new RustType(CratePath.parse("crate::chassis"), new PascalCaseName("Chassis")),
+                new RustType(CratePath.parse("crate::registries::base"), new PascalCaseName("Base")));
+    }
+
+    // A component without operations renders an empty slice, whose type is given by the template.
+    @Test
+    public void noAllowedMethods() {
+        assertEquals("", makeComponent().allowedMethods());
+    }
+
+    @Test
+    public void allowedMethodsAreInMethodOrder() {
+        ComponentContext component = makeComponent();
+        component.operationMap.put(PathItem.HttpMethod.PATCH, new ComponentContext.Operation(
+                ComponentContext.operationNameForMethod(PathItem.HttpMethod.PATCH), true));
+        component.operationMap.put(PathItem.HttpMethod.GET, new ComponentContext.Operation(
+                ComponentContext.operationNameForMethod(PathItem.HttpMethod.GET), true));
+        assertEquals("(0x02, \"GET\"), (0x08, \"PATCH\")", component.allowedMethods());
+    }
+}
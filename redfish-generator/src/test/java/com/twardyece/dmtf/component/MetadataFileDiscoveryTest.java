@@ -0,0 +1,155 @@
+package com.twardyece.dmtf.component;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetadataFileDiscoveryTest {
+    private static final String EDMX_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<edmx:Edmx xmlns:edmx=\"http://docs.oasis-open.org/odata/ns/edmx\" Version=\"4.0\"><edmx:DataServices>\n";
+    private static final String EDMX_END = "</edmx:DataServices></edmx:Edmx>\n";
+    private static final String CACHE_FILE_NAME = "csdl-namespaces.json";
+
+    private static String csdl(String... schemas) {
+        return EDMX_START + String.join("\n", schemas) + "\n" + EDMX_END;
+    }
+
+    private static String schema(String namespace) {
+        return "<Schema xmlns=\"http://docs.oasis-open.org/odata/ns/edm\" Namespace=\"" + namespace + "\"/>";
+    }
+
+    private static String prefixedSchema(String namespace) {
+        return "<edm:Schema xmlns:edm=\"http://docs.oasis-open.org/odata/ns/edm\" Namespace=\"" + namespace + "\"/>";
+    }
+
+    // Writes the CSDL files of the fixture, and returns the namespaces expected for each of them.
+    private static Map<String, List<String>> writeFixture(Path csdl) throws IOException {
+        Files.writeString(csdl.resolve("ComputerSystemCollection_v1.xml"),
+                csdl(schema("ComputerSystemCollection")));
+        Files.writeString(csdl.resolve("ComputerSystem_v1.xml"), csdl(schema("ComputerSystem"),
+                schema("ComputerSystem.v1_0_0"), schema("ComputerSystem.v1_10_0"), schema("ComputerSystem.v1_20_0")));
+        Files.writeString(csdl.resolve("Anonymous_v1.xml"),
+                csdl("<Schema xmlns=\"http://docs.oasis-open.org/odata/ns/edm\"/>", schema("Anonymous.v1_0_0")));
+        // Only unprefixed Schema elements count, so the prefixed ones are skipped wherever they appear.
+        Files.writeString(csdl.resolve("Chassis_v1.xml"), csdl(prefixedSchema("Prefixed"), schema("Chassis"),
+                schema("Chassis.v1_23_0"), prefixedSchema("Prefixed.v1_0_0")));
+        return Map.of(
+                "ComputerSystemCollection_v1.xml", List.of("ComputerSystemCollection"),
+                "ComputerSystem_v1.xml", List.of("ComputerSystem", "ComputerSystem.v1_20_0"),
+                "Anonymous_v1.xml", List.of("", "Anonymous.v1_0_0"),
+                "Chassis_v1.xml", List.of("Chassis", "Chassis.v1_23_0"));
+    }
+
+    // The files are listed in directory order, so the references are compared by their URI.
+    private static Map<URI, List<String>> byUri(List<MetadataRoutingContext.Reference> references) {
+        return references.stream().collect(Collectors.toMap(MetadataRoutingContext.Reference::uri,
+                (reference) -> reference.namespaces()
+                        .stream()
+                        .map(MetadataRoutingContext.Reference.Namespace::name)
+                        .toList()));
+    }
+
+    private static Map<URI, List<String>> expected(Map<String, List<String>> namespaces) throws URISyntaxException {
+        Map<URI, List<String>> expected = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : namespaces.entrySet()) {
+            expected.put(new URI("http://redfish.dmtf.org/schemas/v1/" + entry.getKey()), entry.getValue());
+        }
+        return expected;
+    }
+
+    // Replaces the cached namespaces of every file, so that a run which reuses the cache can be told apart.
+    private static void tamperWithCache(Path cacheFile, String generatorVersion) throws IOException {
+        JSONObject cache = new JSONObject(Files.readString(cacheFile));
+        JSONObject namespaces = cache.getJSONObject("namespaces");
+        for (String hash : namespaces.keySet()) {
+            namespaces.put(hash, new JSONArray(List.of("Cached")));
+        }
+        if (null != generatorVersion) {
+            cache.put("generatorVersion", generatorVersion);
+        }
+        Files.writeString(cacheFile, cache.toString());
+    }
+
+    @Test
+    public void namespacesOfFiles(@TempDir Path csdl) throws IOException, URISyntaxException {
+        Map<String, List<String>> namespaces = writeFixture(csdl);
+        List<MetadataRoutingContext.Reference> references = new MetadataFileDiscovery(csdl, null).getReferences();
+        assertEquals(namespaces.size(), references.size());
+        assertEquals(expected(namespaces), byUri(references));
+    }
+
+    @Test
+    public void fileWithoutSchemas(@TempDir Path csdl) throws IOException {
+        Files.writeString(csdl.resolve("Prefixed_v1.xml"), csdl(prefixedSchema("Prefixed")));
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> new MetadataFileDiscovery(csdl, null).getReferences());
+        assertTrue(exception.getMessage().contains("Prefixed_v1.xml"));
+    }
+
+    @Test
+    public void secondRunReusesCache(@TempDir Path csdl, @TempDir Path cache) throws IOException, URISyntaxException {
+        Map<String, List<String>> namespaces = writeFixture(csdl);
+        MetadataFileDiscovery discovery = new MetadataFileDiscovery(csdl, cache);
+        assertEquals(expected(namespaces), byUri(discovery.getReferences()));
+        Path cacheFile = cache.resolve(CACHE_FILE_NAME);
+        assertTrue(Files.isRegularFile(cacheFile));
+        assertEquals(namespaces.size(), new JSONObject(Files.readString(cacheFile)).getJSONObject("namespaces").length());
+
+        tamperWithCache(cacheFile, null);
+        String tampered = Files.readString(cacheFile);
+        Map<URI, List<String>> references = byUri(discovery.getReferences());
+        assertEquals(expected(namespaces).keySet(), references.keySet());
+        references.values().forEach((value) -> assertEquals(List.of("Cached"), value));
+        // Nothing was scanned, so the cache is left as it was.
+        assertEquals(tampered, Files.readString(cacheFile));
+    }
+
+    @Test
+    public void changedFileIsScannedAgain(@TempDir Path csdl, @TempDir Path cache) throws IOException, URISyntaxException {
+        writeFixture(csdl);
+        MetadataFileDiscovery discovery = new MetadataFileDiscovery(csdl, cache);
+        discovery.getReferences();
+        tamperWithCache(cache.resolve(CACHE_FILE_NAME), null);
+
+        Files.writeString(csdl.resolve("ComputerSystemCollection_v1.xml"),
+                csdl(schema("ComputerSystemCollection"), schema("ComputerSystemCollection.v1_0_0")));
+        Map<URI, List<String>> references = byUri(discovery.getReferences());
+        assertEquals(List.of("ComputerSystemCollection", "ComputerSystemCollection.v1_0_0"),
+                references.get(new URI("http://redfish.dmtf.org/schemas/v1/ComputerSystemCollection_v1.xml")));
+        assertEquals(List.of("Cached"), references.get(new URI("http://redfish.dmtf.org/schemas/v1/Chassis_v1.xml")));
+    }
+
+    @Test
+    public void staleGeneratorVersionDiscardsCache(@TempDir Path csdl, @TempDir Path cache)
+            throws IOException, URISyntaxException {
+        Map<String, List<String>> namespaces = writeFixture(csdl);
+        MetadataFileDiscovery discovery = new MetadataFileDiscovery(csdl, cache);
+        discovery.getReferences();
+        Path cacheFile = cache.resolve(CACHE_FILE_NAME);
+        String generatorVersion = new JSONObject(Files.readString(cacheFile)).getString("generatorVersion");
+
+        tamperWithCache(cacheFile, "stale");
+        assertEquals(expected(namespaces), byUri(discovery.getReferences()));
+        // The cache is written again by the current generator, with the namespaces that were scanned.
+        JSONObject rewritten = new JSONObject(Files.readString(cacheFile));
+        assertEquals(generatorVersion, rewritten.getString("generatorVersion"));
+        List<String> cached = rewritten.getJSONObject("namespaces").toMap().values().stream()
+                .map(Object::toString)
+                .toList();
+        assertFalse(cached.contains("[Cached]"));
+        assertEquals(namespaces.size(), cached.size());
+    }
+}
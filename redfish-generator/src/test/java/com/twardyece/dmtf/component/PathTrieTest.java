@@ -0,0 +1,150 @@
+package com.twardyece.dmtf.component;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// PathTrie must answer exactly as the linear scans it replaced did.
+public class PathTrieTest {
+    private static final List<String> PATHS = List.of("/redfish/v1", "/redfish/v1/Systems", "/redfish/v1/Systems/1",
+            "/redfish/v1/Systems/10", "/redfish/v1/Systems/1/Memory", "/redfish/v1/Systems/10/Memory/2",
+            "/redfish/v1/Chassis/1/Power/", "/redfish/v1/Managers/1");
+    private static final List<String> QUERIES = List.of("/redfish/v1/Systems", "/redfish/v1/Systems/",
+            "/redfish/v1/Systems/1", "/redfish/v1/Systems/10", "/redfish/v1/Systems/100",
+            "/redfish/v1/Systems/1/Memory", "/redfish/v1/Systems/10/Memory", "/redfish/v1/Systems/10/Memory/2/",
+            "/redfish/v1/Systems/1/Memory/2", "/redfish/v1/Chassis/1/Power/Voltages", "/redfish/v1/Chassis",
+            "/redfish/v1/Managers/1/", "/redfish/v1", "/redfish", "/Systems/1", "/", "", "Systems/1");
+
+    // The closest parent, as PathService found it before it built a trie
+    private static String scanClosestParent(Collection<String> paths, String path) {
+        String firstPath = PathService.removeTrailingSlash(path);
+        String[] firstComponents = firstPath.split("/");
+        Pair<Integer, String> closestParent = new ImmutablePair<>(0, "");
+        for (String secondPath : paths) {
+            String[] secondComponents = secondPath.split("/");
+            if (secondComponents.length >= firstComponents.length) {
+                continue;
+            }
+
+            int i;
+            boolean finishedEarly = false;
+            for (i = 0; i < secondComponents.length; ++i) {
+                if (!firstComponents[i].equals(secondComponents[i])) {
+                    finishedEarly = true;
+                    break;
+                }
+            }
+
+            if (!finishedEarly && firstComponents.length == secondComponents.length + 1) {
+                return secondPath;
+            } else if (!finishedEarly && i > closestParent.getLeft()) {
+                closestParent = new ImmutablePair<>(i, secondPath);
+            }
+        }
+
+        if (closestParent.getRight().equals("")) {
+            throw new PathService.NoCloseParentException(firstPath);
+        }
+        return closestParent.getRight();
+    }
+
+    // The direct parent, as ComponentMatchService found it before: the closest parent, if the rest of the path is a
+    // single component.
+    private static Optional<String> scanDirectParent(Collection<String> paths, String path) {
+        try {
+            String parentPath = scanClosestParent(paths, path);
+            String mountpoint = path.substring(parentPath.length());
+            boolean isDirectDescendant = 1 == (mountpoint.length() - mountpoint.replace("/", "").length());
+            return isDirectDescendant ? Optional.of(parentPath) : Optional.empty();
+        } catch (PathService.NoCloseParentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // The result of the query, or the type of the exception it threw
+    private static Object outcome(Supplier<?> query) {
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static void assertClosestParentsMatch(List<String> paths, List<String> queries) {
+        PathTrie trie = new PathService().createTrie(paths);
+        for (String query : queries) {
+            assertEquals(outcome(() -> scanClosestParent(paths, query)), outcome(() -> trie.getClosestParent(query)),
+                    "closest parent of '" + query + "' among " + paths);
+        }
+    }
+
+    @Test
+    public void closestParentMatchesScan() {
+        assertClosestParentsMatch(PATHS, QUERIES);
+    }
+
+    // The root and the empty path are only parents of paths with one more component.
+    @Test
+    public void closestParentOfRootAndEmptyPaths() {
+        List<String> paths = new ArrayList<>(PATHS);
+        paths.add("/");
+        assertClosestParentsMatch(paths, QUERIES);
+        paths.add("");
+        assertClosestParentsMatch(paths, QUERIES);
+        assertClosestParentsMatch(List.of("", "/"), QUERIES);
+    }
+
+    @Test
+    public void directParentMatchesScan() {
+        List<String> paths = PATHS.stream().map(PathService::removeTrailingSlash).toList();
+        PathTrie trie = new PathService().createTrie(paths);
+        for (String query : QUERIES) {
+            if (query.isEmpty() || query.endsWith("/")) {
+                // Component paths never have a trailing slash.
+                continue;
+            }
+            assertEquals(scanDirectParent(paths, query), trie.getDirectParent(query), "direct parent of " + query);
+        }
+        assertEquals(Optional.of("/redfish/v1/Systems/1"), trie.getDirectParent("/redfish/v1/Systems/1/Memory"));
+        assertEquals(Optional.empty(), trie.getDirectParent("/redfish/v1/Systems/100/Memory"));
+    }
+
+    @Test
+    public void randomPathsMatchScan() {
+        List<String> segments = List.of("redfish", "v1", "Systems", "1", "10", "Memory", "");
+        Random random = new Random(20);
+        for (int round = 0; round < 200; ++round) {
+            List<String> paths = new ArrayList<>();
+            List<String> queries = new ArrayList<>();
+            for (int i = 0; i < 40; ++i) {
+                StringBuilder path = new StringBuilder();
+                int depth = random.nextInt(5);
+                for (int j = 0; j < depth; ++j) {
+                    path.append('/').append(segments.get(random.nextInt(segments.size())));
+                }
+                if (random.nextInt(4) == 0) {
+                    path.append('/');
+                }
+                (i % 2 == 0 ? paths : queries).add(path.toString());
+            }
+            assertClosestParentsMatch(paths, queries);
+
+            List<String> normalized = paths.stream()
+                    .filter((path) -> !path.isEmpty() && !path.endsWith("/") && !path.contains("//"))
+                    .distinct()
+                    .toList();
+            PathTrie trie = new PathService().createTrie(normalized);
+            for (String query : queries) {
+                if (!query.isEmpty() && !query.endsWith("/") && !query.contains("//")) {
+                    assertEquals(scanDirectParent(normalized, query), trie.getDirectParent(query),
+                            "direct parent of " + query + " among " + normalized);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.twardyece.dmtf.component;
+
+import com.twardyece.dmtf.CratePath;
+import com.twardyece.dmtf.text.PascalCaseName;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading the privilege registry and looking up the privileges of every entity and override target in it,
+ * plus an unknown component, with the indexed registry and with {@link ScanningPrivilegeRegistry}, which scans every
+ * mapping on each lookup as the registry did before it was indexed. The generator looks up a component once for each of its paths, so each name
+ * is looked up several times.
+ * <p>
+ * The registry in the test resources only has a few mappings, so it's scaled by copying them under new names. The
+ * DMTF registry has over a hundred, so a scale of 16 is close to it, or the DMTF registry can be given instead. Run
+ * with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main PrivilegeRegistryBenchmark \
+ *     [-p registry=Redfish_1.4.0_PrivilegeRegistry.json -p scale=1]
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrivilegeRegistryBenchmark {
+    private static final CratePath PRIVILEGE_PATH = CratePath.parse("redfish_core::privilege");
+
+    @Param({"src/test/resources/registry/Redfish_1.4.0_PrivilegeRegistry.json"})
+    public String registry;
+
+    // The number of copies of each mapping in the registry
+    @Param({"1", "16"})
+    public int scale;
+
+    // The number of times each name is looked up
+    @Param({"1", "10"})
+    public int lookups;
+
+    private Path scaledRegistry;
+    private List<PascalCaseName> names;
+
+    @Setup
+    public void setup() throws IOException {
+        JSONObject object = new JSONObject(Files.readString(Path.of(this.registry)));
+        JSONArray mappings = scale(object.getJSONArray("Mappings"), this.scale);
+        object.put("Mappings", mappings);
+        this.scaledRegistry = Files.createTempFile("PrivilegeRegistry", ".json");
+        Files.writeString(this.scaledRegistry, object.toString());
+
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < mappings.length(); ++i) {
+            JSONObject mapping = mappings.getJSONObject(i);
+            names.add(mapping.getString("Entity"));
+            JSONArray subordinateOverrides = mapping.optJSONArray("SubordinateOverrides");
+            for (int j = 0; null != subordinateOverrides && j < subordinateOverrides.length(); ++j) {
+                JSONArray targets = subordinateOverrides.getJSONObject(j).getJSONArray("Targets");
+                for (int k = 0; k < targets.length(); ++k) {
+                    names.add(targets.getString(k));
+                }
+            }
+        }
+        names.add("UnknownComponent");
+        this.names = names.stream().map(PascalCaseName::new).toList();
+
+        // Both registries must find the same privileges, or the comparison is meaningless.
+        PrivilegeRegistry indexed = new PrivilegeRegistry(this.scaledRegistry, PRIVILEGE_PATH, false);
+        ScanningPrivilegeRegistry scanning = new ScanningPrivilegeRegistry(this.scaledRegistry, PRIVILEGE_PATH);
+        for (PascalCaseName name : this.names) {
+            if (!Objects.equals(scanning.getPrivilegesForComponent(name), indexed.getPrivilegesForComponent(name))
+                    || !scanning.getSubordinatePrivilegeOverridesForComponent(name)
+                    .equals(indexed.getSubordinatePrivilegeOverridesForComponent(name))) {
+                throw new IllegalStateException("The registries disagree on the privileges of " + name);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.scaledRegistry);
+    }
+
+    // Each copy of a mapping after the first has a suffix on its entity and the targets of its overrides, so the
+    // copies don't shadow each other.
+    private static JSONArray scale(JSONArray mappings, int scale) {
+        JSONArray scaled = new JSONArray();
+        for (int copy = 0; copy < scale; ++copy) {
+            String suffix = 0 == copy ? "" : Integer.toString(copy);
+            for (int i = 0; i < mappings.length(); ++i) {
+                JSONObject mapping = new JSONObject(mappings.getJSONObject(i).toString());
+                mapping.put("Entity", mapping.getString("Entity") + suffix);
+                JSONArray subordinateOverrides = mapping.optJSONArray("SubordinateOverrides");
+                for (int j = 0; null != subordinateOverrides && j < subordinateOverrides.length(); ++j) {
+                    JSONArray targets = subordinateOverrides.getJSONObject(j).getJSONArray("Targets");
+                    for (int k = 0; k < targets.length(); ++k) {
+                        targets.put(k, targets.getString(k) + suffix);
+                    }
+                }
+                scaled.put(mapping);
+            }
+        }
+        return scaled;
+    }
+
+    @Benchmark
+    public void indexed(Blackhole blackhole) throws IOException {
+        PrivilegeRegistry registry = new PrivilegeRegistry(this.scaledRegistry, PRIVILEGE_PATH, false);
+        for (int i = 0; i < this.lookups; ++i) {
+            for (PascalCaseName name : this.names) {
+                blackhole.consume(registry.getPrivilegesForComponent(name));
+                blackhole.consume(registry.getSubordinatePrivilegeOverridesForComponent(name));
+            }
+        }
+    }
+
+    @Benchmark
+    public void scanning(Blackhole blackhole) throws IOException {
+        ScanningPrivilegeRegistry registry = new ScanningPrivilegeRegistry(this.scaledRegistry, PRIVILEGE_PATH);
+        for (int i = 0; i < this.lookups; ++i) {
+            for (PascalCaseName name : this.names) {
+                blackhole.consume(registry.getPrivilegesForComponent(name));
+                blackhole.consume(registry.getSubordinatePrivilegeOverridesForComponent(name));
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.twardyece.dmtf.component;
+
+import com.twardyece.dmtf.CratePath;
+import com.twardyece.dmtf.text.PascalCaseName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrivilegeRegistryTest {
+    private static final CratePath PRIVILEGE_PATH = CratePath.parse("redfish_core::privilege");
+
+    private static PrivilegeRegistry makeRegistry(Path directory, String get) throws IOException {
+        String operationMap = "{\"GET\": " + get + ", \"HEAD\": [{\"Privilege\": [\"Login\"]}],"
+                + " \"POST\": [{\"Privilege\": [\"NoAuth\"]}], \"PUT\": [{\"Privilege\": [\"Login\"]}],"
+                + " \"PATCH\": [{\"Privilege\": [\"Login\"]}], \"DELETE\": [{\"Privilege\": [\"Login\"]}]}";
+        Path file = directory.resolve("PrivilegeRegistry.json");
+        Files.writeString(file, "{\"Mappings\": [{\"Entity\": \"Manager\", \"OperationMap\": " + operationMap + "}]}");
+        return new PrivilegeRegistry(file, PRIVILEGE_PATH, true);
+    }
+
+    // Redundant terms are removed, and each remaining term is shifted into its own byte, in order of its mask.
+    @Test
+    public void masksAreConstExpressions(@TempDir Path directory) throws IOException {
+        PrivilegeRegistry registry = makeRegistry(directory, "[{\"Privilege\": [\"ConfigureUsers\", \"ConfigureManager\"]},"
+                + " {\"Privilege\": [\"ConfigureComponents\"]},"
+                + " {\"Privilege\": [\"ConfigureComponents\", \"Login\"]}]");
+        PrivilegeRegistry.OperationPrivilegeMapping privileges = registry.getPrivilegesForComponent(
+                new PascalCaseName("Manager"));
+        assertEquals("redfish_core::privilege::AnyOf<{ "
+                + "(redfish_core::privilege::Privilege::ConfigureComponents.mask() as u64)"
+                + " | (((redfish_core::privilege::Privilege::ConfigureManager.mask()"
+                + " | redfish_core::privilege::Privilege::ConfigureUsers.mask()) as u64) << 8) }>", privileges.get());
+        assertEquals("redfish_core::privilege::AnyOf<{ (redfish_core::privilege::Privilege::Login.mask() as u64) }>",
+                privileges.head());
+        assertEquals("redfish_core::privilege::NoAuth", privileges.post());
+    }
+
+    @Test
+    public void operationWithoutTermsIsAnError(@TempDir Path directory) throws IOException {
+        PrivilegeRegistry registry = makeRegistry(directory, "[]");
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> registry.getPrivilegesForComponent(new PascalCaseName("Manager")));
+        assertTrue(exception.getMessage().contains("has no terms"), exception.getMessage());
+    }
+}
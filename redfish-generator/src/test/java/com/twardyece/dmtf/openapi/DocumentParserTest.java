@@ -0,0 +1,316 @@
+package com.twardyece.dmtf.openapi;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DocumentParserTest {
+    // Counts the lookups made by DocumentParser.uniqueName()
+    private static class ProbingMap extends LinkedHashMap<String, Schema> {
+        int probes = 0;
+
+        @Override
+        public boolean containsKey(Object key) {
+            ++this.probes;
+            return super.containsKey(key);
+        }
+    }
+
+    private static DocumentParser makeParser(Map<String, Schema> schemas) {
+        DocumentParser parser = new DocumentParser(null);
+        parser.openAPI = new OpenAPI().components(new Components().schemas(schemas));
+        return parser;
+    }
+
+    // The unique name chosen by scanning every suffix from zero, as uniqueName() did before it kept a counter for
+    // each prefix.
+    private static String scanUniqueName(Map<String, Schema> schemas, String name) {
+        String uniqueName = name;
+        int count = 0;
+        while (schemas.containsKey(uniqueName)) {
+            uniqueName = name + "_" + ++count;
+        }
+        return uniqueName;
+    }
+
+    @Test
+    public void uniqueNamesMatchScan() {
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        DocumentParser parser = makeParser(schemas);
+        List<String> prefixes = List.of("Status", "Status_1", "Links", "Oem", "Oem_Actions");
+        Random random = new Random(4);
+        for (int i = 0; i < 5000; ++i) {
+            String prefix = prefixes.get(random.nextInt(prefixes.size()));
+            String expected = scanUniqueName(schemas, prefix);
+            assertEquals(expected, parser.uniqueName(prefix));
+
+            // Names aren't always taken once they're chosen, e.g. when a structurally equal model is reused, and some
+            // components are added without a name being chosen for them.
+            int action = random.nextInt(4);
+            if (0 != action) {
+                schemas.put(expected, new Schema());
+            }
+            if (0 == action) {
+                schemas.put(prefix + "_" + random.nextInt(1000), new Schema());
+            }
+        }
+    }
+
+    @Test
+    public void uniqueNameProbesGrowLinearly() {
+        for (int count : List.of(1000, 4000)) {
+            ProbingMap schemas = new ProbingMap();
+            DocumentParser parser = makeParser(schemas);
+            for (int i = 0; i < count; ++i) {
+                schemas.put(parser.uniqueName("Status"), new Schema());
+            }
+
+            assertEquals(count, schemas.size());
+            // Each name is found by probing the name returned last, which is taken, and then the next one.
+            assertTrue(schemas.probes <= 2 * count, count + " names took " + schemas.probes + " probes");
+        }
+    }
+
+    @Test
+    public void inlineModelsAreNumbered(@TempDir Path directory) throws IOException {
+        int count = 500;
+        StringBuilder document = new StringBuilder();
+        document.append("openapi: 3.0.1\n")
+                .append("info:\n  title: Test\n  version: 1.0.0\n")
+                .append("paths: {}\n")
+                .append("components:\n  schemas:\n")
+                .append("    Status_2:\n      type: string\n");
+        for (int i = 0; i < count; ++i) {
+            document.append("    Model").append(i).append(":\n")
+                    .append("      type: object\n")
+                    .append("      properties:\n")
+                    .append("        Status:\n")
+                    .append("          type: object\n")
+                    .append("          title: Status\n")
+                    .append("          description: Status of model ").append(i).append("\n")
+                    .append("          properties:\n")
+                    .append("            State:\n")
+                    .append("              type: string\n");
+        }
+        Path file = directory.resolve("openapi.yaml");
+        Files.writeString(file, document);
+
+        DocumentParser parser = new DocumentParser(file.toString());
+        OpenAPI openAPI = parser.parse();
+        Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+        Map<String, Schema> taken = new HashMap<>(Map.of("Status_2", new Schema()));
+        for (int i = 0; i < count; ++i) {
+            taken.put("Model" + i, new Schema());
+        }
+        for (int i = 0; i < count; ++i) {
+            String expected = scanUniqueName(taken, "Status");
+            taken.put(expected, new Schema());
+            Schema status = (Schema) schemas.get("Model" + i).getProperties().get("Status");
+            assertEquals("#/components/schemas/" + expected, status.get$ref());
+            assertEquals("Status of model " + i, schemas.get(expected).getDescription());
+        }
+    }
+
+    private static String flatten(String path, int parallelism) throws IOException {
+        DocumentParser parser = new DocumentParser(path);
+        parser.parallelism = parallelism;
+        return Json.pretty(parser.parse());
+    }
+
+    private static void assertParallelFlattenMatches(String path) throws IOException {
+        String expected = flatten(path, 1);
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(expected, flatten(path, 8));
+        }
+    }
+
+    @Test
+    public void parallelFlattenMatchesSequential() throws IOException {
+        assertParallelFlattenMatches(Path.of("src/test/resources/api/openapi/openapi.yaml").toString());
+    }
+
+    // Many paths reach the same request body, parameter and response, and composed components refer to each other,
+    // so tasks that modified or read the schemas of other tasks would race.
+    @Test
+    public void parallelFlattenOfSharedSchemasMatchesSequential(@TempDir Path directory) throws IOException {
+        int count = 200;
+        StringBuilder document = new StringBuilder();
+        document.append("openapi: 3.0.1\n")
+                .append("info:\n  title: Test\n  version: 1.0.0\n")
+                .append("paths:\n");
+        for (int i = 0; i < count; ++i) {
+            document.append("  /Resources/").append(i).append(":\n")
+                    .append("    patch:\n")
+                    .append("      parameters:\n")
+                    .append("        - $ref: '#/components/parameters/Filter'\n")
+                    .append("      requestBody:\n")
+                    .append("        $ref: '#/components/requestBodies/Update'\n")
+                    .append("      responses:\n")
+                    .append("        '200':\n")
+                    .append("          $ref: '#/components/responses/Updated'\n")
+                    .append("        '400':\n")
+                    .append("          description: error\n")
+                    .append("          content:\n")
+                    .append("            application/json:\n")
+                    .append("              schema:\n")
+                    .append("                type: object\n")
+                    .append("                properties:\n")
+                    .append("                  Code:\n")
+                    .append("                    type: integer\n");
+        }
+        document.append("components:\n")
+                .append("  parameters:\n")
+                .append("    Filter:\n")
+                .append("      name: filter\n")
+                .append("      in: query\n")
+                .append("      schema:\n")
+                .append("        type: object\n")
+                .append("        properties:\n")
+                .append("          Name:\n")
+                .append("            type: string\n")
+                .append("  requestBodies:\n")
+                .append("    Update:\n")
+                .append("      content:\n")
+                .append("        application/json:\n")
+                .append("          schema:\n")
+                .append("            type: object\n")
+                .append("            properties:\n")
+                .append("              Settings:\n")
+                .append("                type: object\n")
+                .append("                properties:\n")
+                .append("                  Enabled:\n")
+                .append("                    type: boolean\n")
+                .append("  responses:\n")
+                .append("    Updated:\n")
+                .append("      description: updated\n")
+                .append("      content:\n")
+                .append("        application/json:\n")
+                .append("          schema:\n")
+                .append("            type: object\n")
+                .append("            properties:\n")
+                .append("              Status:\n")
+                .append("                type: object\n")
+                .append("                properties:\n")
+                .append("                  State:\n")
+                .append("                    type: string\n")
+                .append("  schemas:\n");
+        for (int i = 0; i < count; ++i) {
+            document.append("    Model").append(i).append(":\n")
+                    .append("      allOf:\n")
+                    .append("        - $ref: '#/components/schemas/Model").append((i + 1) % count).append("'\n")
+                    .append("        - type: object\n")
+                    .append("          properties:\n")
+                    .append("            Status:\n")
+                    .append("              type: object\n")
+                    .append("              properties:\n")
+                    .append("                State:\n")
+                    .append("                  type: string\n")
+                    .append("                Health").append(i % 3).append(":\n")
+                    .append("                  type: string\n");
+        }
+        Path file = directory.resolve("openapi.yaml");
+        Files.writeString(file, document);
+        assertParallelFlattenMatches(file.toString());
+    }
+
+    // The memo of isModelNeeded() must agree with a fresh computation over the flattened document. The properties of
+    // each component have inline models that are replaced by references while it's flattened: nested objects, array
+    // items, map values and the inline children of allOf. A read-only property that wraps a single inline object is a
+    // model until that object is replaced by a reference, so answering for it before its inline models are gathered
+    // would be wrong.
+    @Test
+    public void modelNeededMemoMatchesFreshComputation(@TempDir Path directory) throws IOException {
+        int count = 20;
+        StringBuilder document = new StringBuilder();
+        document.append("openapi: 3.0.1\n")
+                .append("info:\n  title: Test\n  version: 1.0.0\n")
+                .append("paths:\n")
+                .append("  /Resources:\n")
+                .append("    post:\n")
+                .append("      requestBody:\n")
+                .append("        content:\n")
+                .append("          application/json:\n")
+                .append("            schema:\n")
+                .append("              type: object\n")
+                .append("              properties:\n")
+                .append("                Settings:\n")
+                .append("                  type: object\n")
+                .append("                  properties:\n")
+                .append("                    Enabled:\n")
+                .append("                      type: boolean\n")
+                .append("      responses:\n")
+                .append("        '200':\n")
+                .append("          description: created\n")
+                .append("components:\n  schemas:\n")
+                .append("    Name:\n      type: string\n");
+        for (int i = 0; i < count; ++i) {
+            String next = "'#/components/schemas/Model" + (i + 1) % count + "'";
+            document.append("    Model").append(i).append(":\n")
+                    .append("      type: object\n")
+                    .append("      properties:\n")
+                    .append("        Parent:\n")
+                    .append("          $ref: ").append(next).append("\n")
+                    .append("        Status:\n")
+                    .append("          type: object\n")
+                    .append("          properties:\n")
+                    .append("            Alias:\n")
+                    .append("              readOnly: true\n")
+                    .append("              allOf:\n")
+                    .append("                - type: object\n")
+                    .append("                  properties:\n")
+                    .append("                    Primary:\n")
+                    .append("                      type: string\n")
+                    .append("            Conditions:\n")
+                    .append("              type: array\n")
+                    .append("              items:\n")
+                    .append("                type: object\n")
+                    .append("                properties:\n")
+                    .append("                  Message:\n")
+                    .append("                    type: string\n")
+                    .append("        Labels:\n")
+                    .append("          type: object\n")
+                    .append("          additionalProperties:\n")
+                    .append("            type: object\n")
+                    .append("            properties:\n")
+                    .append("              Value").append(i % 3).append(":\n")
+                    .append("                type: string\n")
+                    .append("        Name:\n")
+                    .append("          nullable: true\n")
+                    .append("          allOf:\n")
+                    .append("            - $ref: '#/components/schemas/Name'\n")
+                    .append("        Links:\n")
+                    .append("          allOf:\n")
+                    .append("            - $ref: ").append(next).append("\n")
+                    .append("            - type: object\n")
+                    .append("              properties:\n")
+                    .append("                Related:\n")
+                    .append("                  type: string\n");
+        }
+        Path file = directory.resolve("openapi.yaml");
+        Files.writeString(file, document);
+
+        for (int parallelism : List.of(1, 8)) {
+            DocumentParser parser = new DocumentParser(file.toString());
+            parser.parallelism = parallelism;
+            OpenAPI openAPI = parser.parse();
+            assertFalse(parser.modelNeeded.isEmpty());
+
+            // A new parser hasn't memoized anything, nor taken a snapshot of the components before flattening.
+            DocumentParser fresh = makeParser(openAPI.getComponents().getSchemas());
+            for (Map.Entry<Schema, Boolean> entry : parser.modelNeeded.entrySet()) {
+                assertEquals(fresh.isModelNeeded(entry.getKey(), Collections.newSetFromMap(new IdentityHashMap<>())),
+                        entry.getValue(), "memoized for " + Json.pretty(entry.getKey()));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.twardyece.dmtf.openapi;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazySchemaMapTest {
+    // A map of a loadable schema, Status, and a schema that can't be deserialized, Broken.
+    private static LazySchemaMap makeMap() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            Json.mapper().writeValue(gzip, new StringSchema().description("Status"));
+        }
+        int length = output.size();
+        output.write(new byte[]{1, 2, 3, 4});
+
+        Map<String, LazySchemaMap.Location> index = new LinkedHashMap<>();
+        index.put("Status", new LazySchemaMap.Location(0, length));
+        index.put("Broken", new LazySchemaMap.Location(length, 4));
+        return new LazySchemaMap(ByteBuffer.wrap(output.toByteArray()), index);
+    }
+
+    @Test
+    public void loadsSchemasOnRequest() throws IOException {
+        LazySchemaMap schemas = makeMap();
+        assertEquals("Status", schemas.get("Status").getDescription());
+        assertSame(schemas.get("Status"), schemas.get("Status"));
+        assertThrows(RuntimeException.class, () -> schemas.get("Broken"));
+    }
+
+    @Test
+    public void replacingDoesNotLoad() throws IOException {
+        LazySchemaMap schemas = makeMap();
+        Schema replacement = new Schema().description("Replacement");
+        assertNull(schemas.put("Broken", replacement));
+        assertSame(replacement, schemas.get("Broken"));
+        assertSame(replacement, schemas.remove("Broken"));
+
+        Schema status = schemas.get("Status");
+        assertSame(status, schemas.put("Status", replacement));
+        assertEquals(Set.of("Status"), schemas.keySet());
+    }
+
+    @Test
+    public void removingDoesNotLoad() throws IOException {
+        LazySchemaMap schemas = makeMap();
+        assertNull(schemas.remove("Broken"));
+        assertFalse(schemas.containsKey("Broken"));
+        assertEquals(1, schemas.size());
+    }
+
+    @Test
+    public void modifiedWhileIterating() throws IOException {
+        LazySchemaMap schemas = makeMap();
+        List<String> keys = new ArrayList<>();
+        Iterator<Map.Entry<String, Schema>> iterator = schemas.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Schema> entry = iterator.next();
+            keys.add(entry.getKey());
+            schemas.put(entry.getKey() + "_inner", new Schema());
+            if ("Broken".equals(entry.getKey())) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(List.of("Status", "Broken"), keys);
+        assertEquals(List.of("Status", "Status_inner", "Broken_inner"), new ArrayList<>(schemas.keySet()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.twardyece.dmtf.openapi;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaFingerprinterTest {
+    private static Schema makeModel(String description) {
+        return new ObjectSchema()
+                .description(description)
+                .addProperty("Id", new StringSchema())
+                .addProperty("Members", new ArraySchema().items(new Schema().$ref("#/components/schemas/Member")));
+    }
+
+    @Test
+    public void equalSchemas() {
+        SchemaFingerprinter fingerprinter = new SchemaFingerprinter();
+        Schema first = makeModel("A model");
+        Schema second = makeModel("A model");
+        assertEquals(fingerprinter.fingerprint(first), fingerprinter.fingerprint(second));
+        assertTrue(fingerprinter.equals(first, second));
+    }
+
+    @Test
+    public void unequalSchemas() {
+        SchemaFingerprinter fingerprinter = new SchemaFingerprinter();
+        Schema first = makeModel("A model");
+        Schema second = makeModel("Another model");
+        assertNotEquals(fingerprinter.fingerprint(first), fingerprinter.fingerprint(second));
+        assertFalse(fingerprinter.equals(first, second));
+
+        Schema third = makeModel("A model");
+        third.getProperties().put("Name", new StringSchema());
+        assertNotEquals(fingerprinter.fingerprint(first), fingerprinter.fingerprint(third));
+        assertFalse(fingerprinter.equals(first, third));
+    }
+
+    @Test
+    public void schemaMutatedAfterFingerprint() {
+        SchemaFingerprinter fingerprinter = new SchemaFingerprinter();
+        Schema model = makeModel("A model");
+        SchemaFingerprinter.Fingerprint original = fingerprinter.fingerprint(model);
+
+        // Replace an inline subschema with a $ref, as the document parser does when it flattens a model.
+        Schema items = ((Schema) model.getProperties().get("Members")).getItems();
+        items.set$ref("#/components/schemas/Other");
+        assertEquals(original, fingerprinter.invalidate(model));
+
+        Schema expected = makeModel("A model");
+        ((Schema) expected.getProperties().get("Members")).getItems().set$ref("#/components/schemas/Other");
+        assertEquals(fingerprinter.fingerprint(expected), fingerprinter.fingerprint(model));
+        assertNotEquals(original, fingerprinter.fingerprint(model));
+        assertTrue(fingerprinter.equals(expected, model));
+    }
+
+    @Test
+    public void invalidateUnfingerprintedSchema() {
+        SchemaFingerprinter fingerprinter = new SchemaFingerprinter();
+        assertNull(fingerprinter.invalidate(makeModel("A model")));
+    }
+}
@@ -0,0 +1,51 @@
+package com.twardyece.dmtf.output;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveSinkTest {
+    @Test
+    public void completedArchiveReplacesPrevious(@TempDir Path directory) throws IOException {
+        Path archive = directory.resolve("models.zip");
+        Files.writeString(archive, "previous");
+        try (ArchiveSink sink = new ArchiveSink(archive, ArchiveSink.Format.ZIP)) {
+            sink.write(Path.of("src", "lib.rs"), "pub mod models;".getBytes(StandardCharsets.UTF_8));
+            sink.complete();
+        }
+
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertNotNull(entry);
+            assertEquals("src/lib.rs", entry.getName());
+            assertEquals("pub mod models;", new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            assertNull(zip.getNextEntry());
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    // When generation fails, the sink is closed without being completed, and the previous archive is kept.
+    @Test
+    public void incompleteArchiveKeepsPrevious(@TempDir Path directory) throws IOException {
+        Path archive = directory.resolve("models.tar");
+        Files.writeString(archive, "previous");
+        try (ArchiveSink sink = new ArchiveSink(archive, ArchiveSink.Format.TAR)) {
+            sink.write(Path.of("src", "lib.rs"), "pub mod models;".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("previous", Files.readString(archive));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.twardyece.dmtf.specification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaIdentifierTest {
+    private final SchemaIdentifierIndex index = new SchemaIdentifierIndex();
+    private final JsonSchemaIdentifier jsonSchemaIdentifier =
+            new JsonSchemaIdentifier(new JsonSchemaMapper[0], this.index);
+    private final ODataTypeIdentifier odataTypeIdentifier = new ODataTypeIdentifier(this.index);
+
+    @Test
+    public void identifiers() {
+        assertEquals(Optional.of("ComputerSystem.v1_20_0.json"),
+                this.jsonSchemaIdentifier.identify("ComputerSystem_v1_20_0_ComputerSystem"));
+        assertEquals(Optional.of("Resource.json"), this.jsonSchemaIdentifier.identify("Resource_Health"));
+        assertEquals("#ComputerSystem.v1_20_0.ComputerSystem",
+                this.odataTypeIdentifier.identify("ComputerSystem_v1_20_0_ComputerSystem"));
+        assertEquals("#Resource.Health", this.odataTypeIdentifier.identify("Resource_Health"));
+    }
+
+    @Test
+    public void unrecognizedName() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> this.jsonSchemaIdentifier.identify("RedfishError"));
+        assertTrue(exception.getMessage().contains("schema RedfishError, which is named neither"));
+        exception = assertThrows(RuntimeException.class, () -> this.odataTypeIdentifier.identify("RedfishError"));
+        assertTrue(exception.getMessage().contains("schema RedfishError, which is named neither"));
+    }
+
+    // The name matches the unversioned pattern from "v4" on, but "v4" is not a PascalCase module name.
+    @Test
+    public void unconvertibleName() {
+        String reason = "schema odata-v4_count: String v4 is not convertible to PascalCase";
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> this.jsonSchemaIdentifier.identify("odata-v4_count"));
+        assertTrue(exception.getMessage().contains(reason));
+        exception = assertThrows(RuntimeException.class, () -> this.odataTypeIdentifier.identify("odata-v4_count"));
+        assertTrue(exception.getMessage().contains(reason));
+    }
+}
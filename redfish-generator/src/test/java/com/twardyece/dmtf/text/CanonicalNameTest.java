@@ -0,0 +1,38 @@
+package com.twardyece.dmtf.text;
+
+import com.twardyece.dmtf.CratePath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CanonicalNameTest {
+    @Test
+    public void pascalCase() {
+        assertSame(PascalCaseName.of("PCIeDevice"), PascalCaseName.of("PCIeDevice"));
+        assertEquals(new PascalCaseName("PCIeDevice"), PascalCaseName.of("PCIeDevice"));
+        assertEquals(new PascalCaseName("PCIeDevice").hashCode(), PascalCaseName.of("PCIeDevice").hashCode());
+        assertNotEquals(PascalCaseName.of("Memory"), PascalCaseName.of("MemoryDomain"));
+        assertThrows(ICaseConvertible.CaseConversionError.class, () -> PascalCaseName.of("not_pascal"));
+    }
+
+    @Test
+    public void snakeCase() {
+        assertSame(SnakeCaseName.of("v1_20_0"), SnakeCaseName.of("v1_20_0"));
+        assertEquals(new SnakeCaseName("pcie_device"), SnakeCaseName.of("pcie_device"));
+        assertEquals(new SnakeCaseName(PascalCaseName.of("PCIeDevice")), SnakeCaseName.of("pcie_device"));
+    }
+
+    @Test
+    public void camelCase() {
+        assertSame(CamelCaseName.of("odataId"), CamelCaseName.of("odataId"));
+        assertEquals(new CamelCaseName("odataId"), CamelCaseName.of("odataId"));
+    }
+
+    @Test
+    public void cratePath() {
+        assertSame(CratePath.of("crate::service_root"), CratePath.of("crate::service_root"));
+        assertEquals(CratePath.parse("crate::service_root"), CratePath.of("crate::service_root"));
+        assertEquals(CratePath.crateRoot().append(SnakeCaseName.of("service_root")), CratePath.of("crate::service_root"));
+        assertNotEquals(CratePath.of("crate::service_root"), CratePath.of("crate::service_root::v1_15_0"));
+    }
+}
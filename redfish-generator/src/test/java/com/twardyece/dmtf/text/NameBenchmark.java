@@ -0,0 +1,131 @@
+package com.twardyece.dmtf.text;
+
+import com.twardyece.dmtf.CratePath;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares constructing names with obtaining their canonical instances, and comparing names that are equal but
+ * distinct with comparing canonical instances. Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main NameBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameBenchmark {
+    // Typical module, model and version names of the Redfish schemas
+    private static final List<String> PASCAL_CASE = List.of("ComputerSystem", "ServiceRoot", "PCIeDevice",
+            "EthernetInterface", "IPAddresses", "ManagerAccount", "Resource", "SessionService", "Memory", "Chassis");
+    private static final List<String> SNAKE_CASE = List.of("v1_20_0", "v1_15_0", "computer_system", "service_root",
+            "pcie_device", "ethernet_interface", "ip_addresses", "manager_account", "resource", "session_service");
+    private static final List<String> CRATE_PATHS = List.of("crate::computer_system", "crate::service_root",
+            "crate::pcie_device", "crate::ethernet_interface", "redfish_core::privilege", "crate::resource",
+            "crate::session_service", "crate::memory", "crate::chassis", "crate::odata");
+
+    private PascalCaseName[] distinct;
+    private PascalCaseName[] otherDistinct;
+    private PascalCaseName[] canonical;
+    private PascalCaseName[] otherCanonical;
+    private Map<PascalCaseName, Integer> indices;
+
+    @Setup
+    public void setup() {
+        this.distinct = PASCAL_CASE.stream().map(PascalCaseName::new).toArray(PascalCaseName[]::new);
+        this.otherDistinct = PASCAL_CASE.stream().map(PascalCaseName::new).toArray(PascalCaseName[]::new);
+        this.canonical = PASCAL_CASE.stream().map(PascalCaseName::of).toArray(PascalCaseName[]::new);
+        this.otherCanonical = PASCAL_CASE.stream().map(PascalCaseName::of).toArray(PascalCaseName[]::new);
+        this.indices = new HashMap<>();
+        for (int i = 0; i < PASCAL_CASE.size(); ++i) {
+            this.indices.put(PascalCaseName.of(PASCAL_CASE.get(i)), i);
+        }
+    }
+
+    @Benchmark
+    public void constructPascalCase(Blackhole blackhole) {
+        for (String name : PASCAL_CASE) {
+            blackhole.consume(new PascalCaseName(name));
+        }
+    }
+
+    @Benchmark
+    public void canonicalPascalCase(Blackhole blackhole) {
+        for (String name : PASCAL_CASE) {
+            blackhole.consume(PascalCaseName.of(name));
+        }
+    }
+
+    @Benchmark
+    public void constructSnakeCase(Blackhole blackhole) {
+        for (String name : SNAKE_CASE) {
+            blackhole.consume(new SnakeCaseName(name));
+        }
+    }
+
+    @Benchmark
+    public void canonicalSnakeCase(Blackhole blackhole) {
+        for (String name : SNAKE_CASE) {
+            blackhole.consume(SnakeCaseName.of(name));
+        }
+    }
+
+    @Benchmark
+    public void parseCratePath(Blackhole blackhole) {
+        for (String path : CRATE_PATHS) {
+            blackhole.consume(CratePath.parse(path));
+        }
+    }
+
+    @Benchmark
+    public void canonicalCratePath(Blackhole blackhole) {
+        for (String path : CRATE_PATHS) {
+            blackhole.consume(CratePath.of(path));
+        }
+    }
+
+    @Benchmark
+    public int equalsDistinct() {
+        int equal = 0;
+        for (int i = 0; i < this.distinct.length; ++i) {
+            equal += this.distinct[i].equals(this.otherDistinct[i]) ? 1 : 0;
+        }
+        return equal;
+    }
+
+    @Benchmark
+    public int equalsCanonical() {
+        int equal = 0;
+        for (int i = 0; i < this.canonical.length; ++i) {
+            equal += this.canonical[i].equals(this.otherCanonical[i]) ? 1 : 0;
+        }
+        return equal;
+    }
+
+    @Benchmark
+    public int lookupDistinct() {
+        int sum = 0;
+        for (PascalCaseName name : this.distinct) {
+            sum += this.indices.get(name);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int lookupCanonical() {
+        int sum = 0;
+        for (PascalCaseName name : this.canonical) {
+            sum += this.indices.get(name);
+        }
+        return sum;
+    }
+}